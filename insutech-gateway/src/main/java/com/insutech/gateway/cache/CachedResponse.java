@@ -0,0 +1,11 @@
+package com.insutech.gateway.cache;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An upstream response as stored by the gateway response cache: status, the headers
+ * worth replaying, the body and its entity tag.
+ */
+public record CachedResponse(int status, Map<String, List<String>> headers, byte[] body, String etag) {
+}
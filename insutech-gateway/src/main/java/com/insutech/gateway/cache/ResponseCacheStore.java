@@ -0,0 +1,63 @@
+package com.insutech.gateway.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Redis storage for cached gateway responses. Every failure, including a slow Redis,
+ * reads as a miss so the gateway falls back to the upstream service instead of failing
+ * the request.
+ */
+@Component
+public class ResponseCacheStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheStore.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+
+    public ResponseCacheStore(ReactiveStringRedisTemplate redisTemplate,
+                              ObjectMapper objectMapper,
+                              @Value("${gateway.response-cache.redis-timeout:200ms}") Duration timeout) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+    }
+
+    public Mono<CachedResponse> get(String key) {
+        return redisTemplate.opsForValue().get(key)
+                .timeout(timeout)
+                .map(json -> read(json))
+                .onErrorResume(e -> {
+                    log.warn("Response cache read failed for {}: {}", key, e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Store asynchronously; the response to the client never waits on Redis.
+     */
+    public void put(String key, CachedResponse response, Duration ttl) {
+        Mono.fromCallable(() -> objectMapper.writeValueAsString(response))
+                .flatMap(json -> redisTemplate.opsForValue().set(key, json, ttl))
+                .timeout(timeout)
+                .subscribe(stored -> { },
+                        e -> log.warn("Response cache write failed for {}: {}", key, e.toString()));
+    }
+
+    private CachedResponse read(String json) {
+        try {
+            return objectMapper.readValue(json, CachedResponse.class);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable cached response", e);
+        }
+    }
+}
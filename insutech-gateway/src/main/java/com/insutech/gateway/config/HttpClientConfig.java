@@ -0,0 +1,29 @@
+package com.insutech.gateway.config;
+
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(UpstreamPoolProperties.class)
+public class HttpClientConfig {
+
+    /**
+     * Replaces the auto-configured factory so each upstream gets its own pool limits.
+     */
+    @Bean
+    public HttpClientFactory gatewayHttpClientFactory(HttpClientProperties properties,
+                                                      ServerProperties serverProperties,
+                                                      List<HttpClientCustomizer> customizers,
+                                                      HttpClientSslConfigurer sslConfigurer,
+                                                      UpstreamPoolProperties upstreamPools) {
+        return new UpstreamHttpClientFactory(properties, serverProperties, sslConfigurer, customizers, upstreamPools);
+    }
+}
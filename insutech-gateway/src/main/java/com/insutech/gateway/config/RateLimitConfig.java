@@ -0,0 +1,54 @@
+package com.insutech.gateway.config;
+
+import com.insutech.gateway.limit.MeteredRedisRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+@Configuration
+public class RateLimitConfig {
+
+    /**
+     * Buckets are per client address. The caller cannot choose it: with no trusted proxies
+     * it is the peer address, otherwise the right-most {@code X-Forwarded-For} entry that
+     * was not written by one of the {@code trusted-proxy-hops} proxies in front of the
+     * gateway. Entries further left are supplied by the caller and ignored.
+     */
+    @Bean
+    public KeyResolver clientKeyResolver(@Value("${gateway.rate-limit.trusted-proxy-hops:0}") int trustedProxyHops) {
+        RemoteAddressResolver resolver = trustedProxyHops > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxyHops)
+                : new RemoteAddressResolver() {
+                };
+        return exchange -> {
+            InetSocketAddress remote = resolver.resolve(exchange);
+            return Mono.just(remote != null && remote.getAddress() != null
+                    ? "ip:" + remote.getAddress().getHostAddress()
+                    : "anonymous");
+        };
+    }
+
+    /**
+     * Replaces the auto-configured {@link RedisRateLimiter} so every decision is counted.
+     */
+    @Bean
+    public RedisRateLimiter redisRateLimiter(ReactiveStringRedisTemplate redisTemplate,
+                                             @Qualifier(RedisRateLimiter.REDIS_SCRIPT_NAME) RedisScript<List<Long>> redisScript,
+                                             ConfigurationService configurationService,
+                                             MeterRegistry meterRegistry) {
+        return new MeteredRedisRateLimiter(redisTemplate, redisScript, configurationService, meterRegistry);
+    }
+}
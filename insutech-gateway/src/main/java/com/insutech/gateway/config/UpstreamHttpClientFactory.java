@@ -0,0 +1,73 @@
+package com.insutech.gateway.config;
+
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The gateway's HttpClient factory with per-upstream connection pools on top of the
+ * global {@code spring.cloud.gateway.httpclient.pool} settings.
+ */
+public class UpstreamHttpClientFactory extends HttpClientFactory {
+
+    private final UpstreamPoolProperties upstreamPools;
+
+    public UpstreamHttpClientFactory(HttpClientProperties properties,
+                                     ServerProperties serverProperties,
+                                     HttpClientSslConfigurer sslConfigurer,
+                                     List<HttpClientCustomizer> customizers,
+                                     UpstreamPoolProperties upstreamPools) {
+        super(properties, serverProperties, sslConfigurer, customizers);
+        this.upstreamPools = upstreamPools;
+    }
+
+    @Override
+    protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+        HttpClientProperties.Pool pool = properties.getPool();
+        if (pool.getType() == HttpClientProperties.Pool.PoolType.DISABLED) {
+            return ConnectionProvider.newConnection();
+        }
+        return pooled(pool, upstreamPools);
+    }
+
+    static ConnectionProvider pooled(HttpClientProperties.Pool pool, UpstreamPoolProperties upstreamPools) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(pool.getName());
+        if (pool.getType() == HttpClientProperties.Pool.PoolType.FIXED) {
+            builder.maxConnections(pool.getMaxConnections())
+                    .pendingAcquireMaxCount(-1)
+                    .pendingAcquireTimeout(Duration.ofMillis(pool.getAcquireTimeout()));
+        } else {
+            builder.maxConnections(Integer.MAX_VALUE)
+                    .pendingAcquireTimeout(Duration.ZERO)
+                    .pendingAcquireMaxCount(-1);
+        }
+        if (pool.getMaxIdleTime() != null) {
+            builder.maxIdleTime(pool.getMaxIdleTime());
+        }
+        if (pool.getMaxLifeTime() != null) {
+            builder.maxLifeTime(pool.getMaxLifeTime());
+        }
+        builder.evictInBackground(pool.getEvictionInterval());
+        builder.metrics(pool.isMetrics());
+        if (pool.getLeasingStrategy() == HttpClientProperties.Pool.LeasingStrategy.FIFO) {
+            builder.fifo();
+        } else {
+            builder.lifo();
+        }
+
+        // Keyed by the unresolved address, which is what HttpClient acquires connections for
+        upstreamPools.getUpstreams().values().forEach(upstream -> builder.forRemoteHost(
+                InetSocketAddress.createUnresolved(upstream.getHost(), upstream.getPort()),
+                spec -> spec.maxConnections(upstream.getMaxConnections())
+                        .pendingAcquireMaxCount(upstream.getPendingAcquireMaxCount())
+                        .pendingAcquireTimeout(upstream.getPendingAcquireTimeout())));
+        return builder.build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.insutech.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Connection pool limits per upstream service, under {@code gateway.upstreams.<name>}.
+ * Each upstream gets its own pool, so a slow service can exhaust only its own
+ * connections and pending-acquire queue.
+ */
+@ConfigurationProperties("gateway")
+public class UpstreamPoolProperties {
+
+    private Map<String, Upstream> upstreams = new LinkedHashMap<>();
+
+    public Map<String, Upstream> getUpstreams() {
+        return upstreams;
+    }
+
+    public void setUpstreams(Map<String, Upstream> upstreams) {
+        this.upstreams = upstreams;
+    }
+
+    public static class Upstream {
+
+        private String host;
+        private int port = 80;
+        private int maxConnections = 50;
+        private int pendingAcquireMaxCount = 100;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(1);
+
+        public String getHost() {
+            return host;
+        }
+
+        public void setHost(String host) {
+            this.host = host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+
+        public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) {
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+
+        public Duration getPendingAcquireTimeout() {
+            return pendingAcquireTimeout;
+        }
+
+        public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+            this.pendingAcquireTimeout = pendingAcquireTimeout;
+        }
+    }
+}
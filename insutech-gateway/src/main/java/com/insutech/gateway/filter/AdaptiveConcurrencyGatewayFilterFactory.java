@@ -0,0 +1,174 @@
+package com.insutech.gateway.filter;
+
+import com.insutech.gateway.limit.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sheds load with 503 once a route's adaptive concurrency limit is reached.
+ *
+ * <p>There is one {@link AdaptiveConcurrencyLimiter} per route id, built from that
+ * route's config, so a bulk route and a read route to the same service keep separate
+ * limits and latency thresholds. Responses with a 5xx status, errors and cancellations
+ * count as failures and shrink the limit. Requests matching {@code latency-exempt-paths}
+ * (exports and other reads that are slow by design) hold a slot but give no latency
+ * sample. Admitted and shed requests are counted as {@code gateway.concurrency.requests};
+ * the current limit and in-flight count are gauges.
+ */
+@Component
+public class AdaptiveConcurrencyGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<AdaptiveConcurrencyGatewayFilterFactory.Config> {
+
+    static final String METRIC = "gateway.concurrency.requests";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        List<PathPattern> exemptPaths = config.getLatencyExemptPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        return (exchange, chain) -> {
+            String routeId = routeId(exchange);
+            AdaptiveConcurrencyLimiter limiter = limiters.computeIfAbsent(routeId, key -> register(key, config));
+            if (!limiter.tryAcquire()) {
+                counter(routeId, "shed").increment();
+                exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(config.getRetryAfter().toSeconds()));
+                return exchange.getResponse().setComplete();
+            }
+            counter(routeId, "admitted").increment();
+            boolean sampled = exemptPaths.stream()
+                    .noneMatch(path -> path.matches(exchange.getRequest().getPath().pathWithinApplication()));
+            long started = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                boolean failed = signal != SignalType.ON_COMPLETE || (status != null && status.is5xxServerError());
+                if (sampled) {
+                    limiter.release(System.nanoTime() - started, failed);
+                } else {
+                    limiter.release(failed);
+                }
+            });
+        };
+    }
+
+    AdaptiveConcurrencyLimiter limiter(String routeId) {
+        return limiters.get(routeId);
+    }
+
+    private AdaptiveConcurrencyLimiter register(String routeId, Config config) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config.getInitialLimit(),
+                config.getMinLimit(), config.getMaxLimit(), config.getLatencyThreshold(), config.getBackoffRatio());
+        Gauge.builder("gateway.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    private Counter counter(String routeId, String outcome) {
+        return Counter.builder(METRIC)
+                .tag("route", routeId)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "none";
+    }
+
+    public static class Config {
+
+        private int initialLimit = 10;
+        private int minLimit = 2;
+        private int maxLimit = 50;
+        private Duration latencyThreshold = Duration.ofMillis(500);
+        private double backoffRatio = 0.9;
+        private Duration retryAfter = Duration.ofSeconds(1);
+        private List<String> latencyExemptPaths = List.of();
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public Duration getLatencyThreshold() {
+            return latencyThreshold;
+        }
+
+        public void setLatencyThreshold(Duration latencyThreshold) {
+            this.latencyThreshold = latencyThreshold;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+
+        public List<String> getLatencyExemptPaths() {
+            return latencyExemptPaths;
+        }
+
+        public void setLatencyExemptPaths(List<String> latencyExemptPaths) {
+            this.latencyExemptPaths = latencyExemptPaths;
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.insutech.gateway.filter;
+
+import com.insutech.gateway.cache.CachedResponse;
+import com.insutech.gateway.cache.ResponseCacheStore;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches successful GET responses of a route in Redis and collapses concurrent identical
+ * GETs into one upstream call.
+ *
+ * <p>Caching is opt-in per path: only GETs matching one of the configured {@code paths}
+ * patterns are cached, so endpoints whose readers need fresh data (job status polls,
+ * change feeds) are listed nowhere and always go upstream. Streamed responses
+ * ({@code application/x-ndjson}, {@code text/event-stream}) are never captured.
+ *
+ * <p>The cache key is the route, path, sorted query string and the values of the
+ * configured {@code vary} headers. Requests carrying credentials ({@code Authorization}
+ * or {@code Cookie}) are only cached when the route varies on that header. Every cached
+ * response has an ETag (the upstream one, or a hash of the body), and a matching
+ * {@code If-None-Match} is answered with 304 from the cache.
+ *
+ * <p>On a miss the first request becomes the leader and goes upstream; identical requests
+ * arriving meanwhile wait for the leader's response instead of reaching the service. If
+ * the leader's response turns out not to be cacheable, the waiting requests go upstream
+ * themselves. A body of unknown length is passed through to the leader chunk by chunk
+ * while a copy is kept, and the copy is dropped once it outgrows {@code max-body-size}.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    static final String CACHE_STATUS_HEADER = "X-Cache";
+    static final String KEY_PREFIX = "gateway:response:";
+
+    private static final Set<String> CREDENTIAL_HEADERS = Set.of(HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE);
+
+    private static final List<MediaType> STREAMING_TYPES = List.of(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+
+    // Not replayed from the cache: hop-by-hop, recomputed, or specific to the original caller
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            HttpHeaders.CONNECTION.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.DATE.toLowerCase(),
+            HttpHeaders.SET_COOKIE.toLowerCase(),
+            CACHE_STATUS_HEADER.toLowerCase());
+
+    private final ResponseCacheStore store;
+    private final long maxBodySize;
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public ResponseCacheGatewayFilterFactory(ResponseCacheStore store,
+                                             @Value("${gateway.response-cache.max-body-size:1MB}") DataSize maxBodySize) {
+        super(Config.class);
+        this.store = store;
+        this.maxBodySize = maxBodySize.toBytes();
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        List<PathPattern> paths = config.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+        // Must wrap the response before NettyWriteResponseFilter writes the upstream body
+        return new OrderedGatewayFilter((exchange, chain) -> filter(exchange, chain, config, paths),
+                NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, Config config, List<PathPattern> paths) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET
+                || paths.stream().noneMatch(path -> path.matches(request.getPath().pathWithinApplication()))
+                || bypass(request, config)) {
+            return chain.filter(exchange);
+        }
+        String key = key(exchange, config);
+        return store.get(key)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(cached -> cached.isPresent()
+                        ? write(exchange, cached.get(), "HIT")
+                        : load(exchange, chain, config, key));
+    }
+
+    private Mono<Void> load(ServerWebExchange exchange, GatewayFilterChain chain, Config config, String key) {
+        Sinks.One<CachedResponse> sink = Sinks.one();
+        Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, sink);
+        if (leader != null) {
+            return leader.asMono()
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(cached -> cached.isPresent()
+                            ? write(exchange, cached.get(), "COALESCED")
+                            : chain.filter(exchange));
+        }
+
+        CapturingResponse response = new CapturingResponse(exchange, config, key, sink);
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, sink);
+                    sink.tryEmitEmpty(); // no-op if the response was already published
+                });
+    }
+
+    private static Mono<Void> write(ServerWebExchange exchange, CachedResponse cached, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        cached.headers().forEach(headers::put);
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+        if (notModified(exchange.getRequest(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatusCode.valueOf(cached.status()));
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static boolean bypass(ServerHttpRequest request, Config config) {
+        HttpHeaders headers = request.getHeaders();
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null && (cacheControl.contains("no-cache") || cacheControl.contains("no-store"))) {
+            return true;
+        }
+        return CREDENTIAL_HEADERS.stream().anyMatch(name -> headers.containsKey(name)
+                && config.getVary().stream().noneMatch(name::equalsIgnoreCase));
+    }
+
+    private static boolean cacheable(HttpStatusCode status, HttpHeaders headers) {
+        if (status == null || status.value() != HttpStatus.OK.value() || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        MediaType contentType = headers.getContentType();
+        if (contentType != null && STREAMING_TYPES.stream().anyMatch(contentType::isCompatibleWith)) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    private static boolean notModified(ServerHttpRequest request, String etag) {
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        return ifNoneMatch.stream().anyMatch(tag -> tag.equals("*") || weak(tag).equals(weak(etag)));
+    }
+
+    private static String weak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    static String key(ServerWebExchange exchange, Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "none";
+
+        StringBuilder raw = new StringBuilder(request.getPath().value());
+        new TreeMap<>(request.getQueryParams()).forEach((name, values) ->
+                values.stream().sorted().forEach(value -> raw.append('&').append(name).append('=').append(value)));
+        for (String header : config.getVary()) {
+            raw.append('\n').append(header.toLowerCase()).append(':')
+                    .append(String.join(",", request.getHeaders().getOrEmpty(header)));
+        }
+        return KEY_PREFIX + routeId + ":" + HexFormat.of().formatHex(sha256(raw.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String etag(byte[] body) {
+        return "\"" + HexFormat.of().formatHex(sha256(body), 0, 16) + "\"";
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Copies the leader's upstream body so it can be stored, handed to waiting requests
+     * and still written to the leader's client.
+     */
+    private class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final Config config;
+        private final String key;
+        private final Sinks.One<CachedResponse> sink;
+
+        CapturingResponse(ServerWebExchange exchange, Config config, String key, Sinks.One<CachedResponse> sink) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.config = config;
+            this.key = key;
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getDelegate().getHeaders();
+            long contentLength = headers.getContentLength();
+            if (!cacheable(getStatusCode(), headers) || contentLength > maxBodySize) {
+                sink.tryEmitEmpty();
+                return super.writeWith(body);
+            }
+            headers.set(CACHE_STATUS_HEADER, "MISS");
+            return contentLength >= 0 ? writeBuffered(body, headers) : super.writeWith(capture(body, headers));
+        }
+
+        /**
+         * Known length within the limit: join the body first, so the leader also gets the
+         * ETag and a 304 when its {@code If-None-Match} matches.
+         */
+        private Mono<Void> writeBuffered(Publisher<? extends DataBuffer> body, HttpHeaders headers) {
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                String etag = headers.getETag() != null ? headers.getETag() : etag(bytes);
+                headers.setETag(etag);
+                publish(headers, bytes, etag);
+
+                if (notModified(exchange.getRequest(), etag)) {
+                    setStatusCode(HttpStatus.NOT_MODIFIED);
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                    headers.remove(HttpHeaders.TRANSFER_ENCODING);
+                    return getDelegate().setComplete();
+                }
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+        /**
+         * Unknown length: write each chunk through as it arrives and keep a copy until the
+         * running total passes the limit. The headers are sent with the first chunk, so the
+         * leader only gets the upstream ETag; later hits get the stored one.
+         */
+        private Flux<DataBuffer> capture(Publisher<? extends DataBuffer> body, HttpHeaders headers) {
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            boolean[] capturing = {true};
+            return Flux.<DataBuffer>from(body)
+                    .doOnNext(buffer -> {
+                        if (!capturing[0]) {
+                            return;
+                        }
+                        int length = buffer.readableByteCount();
+                        if (copy.size() + length > maxBodySize) {
+                            capturing[0] = false;
+                            copy.reset();
+                            sink.tryEmitEmpty(); // waiting requests go upstream themselves
+                            return;
+                        }
+                        byte[] chunk = new byte[length];
+                        buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(chunk), 0, length);
+                        copy.writeBytes(chunk);
+                    })
+                    .doOnComplete(() -> {
+                        if (capturing[0]) {
+                            byte[] bytes = copy.toByteArray();
+                            publish(headers, bytes, headers.getETag() != null ? headers.getETag() : etag(bytes));
+                        }
+                    });
+        }
+
+        private void publish(HttpHeaders headers, byte[] bytes, String etag) {
+            CachedResponse cached = new CachedResponse(getStatusCode().value(), replayable(headers, etag), bytes, etag);
+            sink.tryEmitValue(cached);
+            store.put(key, cached, config.getTtl());
+        }
+
+        private Map<String, List<String>> replayable(HttpHeaders headers, String etag) {
+            Map<String, List<String>> kept = new LinkedHashMap<>();
+            headers.forEach((name, values) -> {
+                String lower = name.toLowerCase();
+                if (!SKIPPED_HEADERS.contains(lower) && !lower.startsWith("access-control-")) {
+                    kept.put(name, new ArrayList<>(values));
+                }
+            });
+            kept.put(HttpHeaders.ETAG, List.of(etag));
+            return kept;
+        }
+    }
+
+    public static class Config {
+
+        private Duration ttl = Duration.ofSeconds(30);
+        private List<String> vary = List.of();
+        private List<String> paths = List.of();
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public List<String> getVary() {
+            return vary;
+        }
+
+        public void setVary(List<String> vary) {
+            this.vary = vary;
+        }
+
+        /**
+         * Path patterns whose GETs may be cached, e.g. {@code /api/users/{id:\d+}};
+         * nothing is cached when empty.
+         */
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+    }
+}
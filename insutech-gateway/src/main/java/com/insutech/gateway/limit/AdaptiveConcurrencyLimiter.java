@@ -0,0 +1,70 @@
+package com.insutech.gateway.limit;
+
+import java.time.Duration;
+
+/**
+ * Concurrency limit for one upstream, adjusted by additive increase / multiplicative
+ * decrease (AIMD).
+ *
+ * <p>A request that completes within the latency threshold, while the limit is actually
+ * being used, raises the limit by one. A slow or failed request multiplies it by the
+ * backoff ratio. Requests beyond the limit are refused instead of queueing behind a
+ * saturated upstream (for example a service whose connection pool is exhausted).
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      Duration latencyThreshold, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    public synchronized void release(long latencyNanos, boolean failed) {
+        // Only grow while the limit is the constraint, so an idle upstream does not drift to max
+        boolean saturated = inFlight * 2 >= (int) limit;
+        inFlight--;
+        if (failed || latencyNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (saturated) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    /**
+     * Release without a latency sample, for requests that are slow by design: only a
+     * failure moves the limit.
+     */
+    public synchronized void release(boolean failed) {
+        inFlight--;
+        if (failed) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        }
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
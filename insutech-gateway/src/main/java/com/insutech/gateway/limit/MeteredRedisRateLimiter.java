@@ -0,0 +1,44 @@
+package com.insutech.gateway.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * The gateway's Redis token-bucket limiter, counting admitted and rejected requests per
+ * route as {@code gateway.ratelimit.requests}. Like the parent it fails open: if Redis is
+ * unreachable the request is admitted.
+ */
+public class MeteredRedisRateLimiter extends RedisRateLimiter {
+
+    static final String METRIC = "gateway.ratelimit.requests";
+
+    private final MeterRegistry meterRegistry;
+
+    public MeteredRedisRateLimiter(ReactiveStringRedisTemplate redisTemplate,
+                                   RedisScript<List<Long>> script,
+                                   ConfigurationService configurationService,
+                                   MeterRegistry meterRegistry) {
+        super(redisTemplate, script, configurationService);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        return super.isAllowed(routeId, id)
+                .doOnNext(response -> counter(routeId, response.isAllowed() ? "admitted" : "rejected").increment());
+    }
+
+    private Counter counter(String routeId, String outcome) {
+        return Counter.builder(METRIC)
+                .tag("route", routeId)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
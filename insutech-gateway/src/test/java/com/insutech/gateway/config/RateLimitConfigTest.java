@@ -0,0 +1,39 @@
+package com.insutech.gateway.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitConfigTest {
+
+    private static final InetSocketAddress PEER = new InetSocketAddress("10.0.0.5", 40000);
+
+    @Test
+    void shouldKeyOnPeerAddressWhenNoProxyIsTrusted() {
+        KeyResolver resolver = new RateLimitConfig().clientKeyResolver(0);
+
+        assertEquals("ip:10.0.0.5", resolver.resolve(exchange("1.2.3.4")).block());
+    }
+
+    @Test
+    void shouldIgnoreForwardedEntriesLeftOfTheTrustedProxies() {
+        KeyResolver resolver = new RateLimitConfig().clientKeyResolver(1);
+
+        // The caller wrote 1.2.3.4; the trusted proxy appended the address it saw
+        assertEquals("ip:203.0.113.7", resolver.resolve(exchange("1.2.3.4, 203.0.113.7")).block());
+        assertEquals("ip:10.0.0.5", resolver.resolve(exchange(null)).block());
+    }
+
+    private static MockServerWebExchange exchange(String forwardedFor) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/users").remoteAddress(PEER);
+        if (forwardedFor != null) {
+            request.header("X-Forwarded-For", forwardedFor);
+        }
+        return MockServerWebExchange.from(request);
+    }
+}
@@ -0,0 +1,65 @@
+package com.insutech.gateway.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.internal.shaded.reactor.pool.PoolAcquirePendingLimitException;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamHttpClientFactoryTest {
+
+    private DisposableServer slowUpstream;
+    private ConnectionProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        slowUpstream = HttpServer.create().port(0)
+                .route(routes -> routes.get("/slow", (request, response) ->
+                        response.sendString(Mono.delay(Duration.ofMillis(300)).thenReturn("ok"))))
+                .bindNow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (provider != null) {
+            provider.disposeLater().block();
+        }
+        slowUpstream.disposeNow();
+    }
+
+    @Test
+    void shouldCapConnectionsAndPendingAcquiresForAConfiguredUpstream() {
+        UpstreamPoolProperties.Upstream upstream = new UpstreamPoolProperties.Upstream();
+        upstream.setHost("localhost");
+        upstream.setPort(slowUpstream.port());
+        upstream.setMaxConnections(1);
+        upstream.setPendingAcquireMaxCount(1);
+        upstream.setPendingAcquireTimeout(Duration.ofSeconds(5));
+        UpstreamPoolProperties pools = new UpstreamPoolProperties();
+        pools.setUpstreams(Map.of("slow", upstream));
+
+        provider = UpstreamHttpClientFactory.pooled(new HttpClientProperties().getPool(), pools);
+        HttpClient client = HttpClient.create(provider).baseUrl("http://localhost:" + slowUpstream.port());
+
+        List<String> outcomes = Flux.range(0, 3)
+                .flatMap(i -> client.get().uri("/slow").responseContent().aggregate().asString()
+                        .onErrorResume(PoolAcquirePendingLimitException.class, e -> Mono.just("rejected")))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(2, outcomes.stream().filter("ok"::equals).count());
+        assertEquals(1, outcomes.stream().filter("rejected"::equals).count());
+    }
+}
@@ -0,0 +1,81 @@
+package com.insutech.gateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyGatewayFilterFactoryTest {
+
+    @Test
+    void shouldShedWith503OnceTheLimitIsReachedAndCountOutcomes() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyGatewayFilterFactory factory = new AdaptiveConcurrencyGatewayFilterFactory(registry);
+        AdaptiveConcurrencyGatewayFilterFactory.Config config = new AdaptiveConcurrencyGatewayFilterFactory.Config();
+        config.setInitialLimit(1);
+        config.setMinLimit(1);
+        GatewayFilter filter = factory.apply(config);
+
+        Sinks.Empty<Void> upstream = Sinks.empty();
+        GatewayFilterChain slowChain = exchange -> upstream.asMono();
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/policies"));
+        MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/policies"));
+
+        filter.filter(first, slowChain).subscribe();
+        filter.filter(second, slowChain).block();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, second.getResponse().getStatusCode());
+        assertEquals("1", second.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, registry.get(AdaptiveConcurrencyGatewayFilterFactory.METRIC).tag("outcome", "admitted").counter().count());
+        assertEquals(1, registry.get(AdaptiveConcurrencyGatewayFilterFactory.METRIC).tag("outcome", "shed").counter().count());
+        assertEquals(1.0, registry.get("gateway.concurrency.inflight").gauge().value());
+
+        upstream.tryEmitEmpty();
+        assertEquals(0.0, registry.get("gateway.concurrency.inflight").gauge().value());
+    }
+
+    @Test
+    void shouldKeepOneLimiterPerRouteAndSkipLatencyOfExemptPaths() {
+        AdaptiveConcurrencyGatewayFilterFactory factory = new AdaptiveConcurrencyGatewayFilterFactory(new SimpleMeterRegistry());
+        AdaptiveConcurrencyGatewayFilterFactory.Config reads = new AdaptiveConcurrencyGatewayFilterFactory.Config();
+        reads.setLatencyThreshold(Duration.ZERO);
+        reads.setLatencyExemptPaths(List.of("/api/v1/policies/stream"));
+        AdaptiveConcurrencyGatewayFilterFactory.Config bulk = new AdaptiveConcurrencyGatewayFilterFactory.Config();
+        bulk.setInitialLimit(3);
+        GatewayFilter readFilter = factory.apply(reads);
+        GatewayFilter bulkFilter = factory.apply(bulk);
+        GatewayFilterChain slowChain = exchange -> Mono.delay(Duration.ofMillis(5)).then();
+
+        bulkFilter.filter(routed("policy-service-bulk", "/api/v1/policies/batch"), slowChain).block();
+        readFilter.filter(routed("policy-service", "/api/v1/policies/stream"), slowChain).block();
+
+        assertEquals(3, factory.limiter("policy-service-bulk").getLimit());
+        assertEquals(10, factory.limiter("policy-service").getLimit(), "exempt path gives no latency sample");
+
+        readFilter.filter(routed("policy-service", "/api/v1/policies/filter"), slowChain).block();
+        assertEquals(9, factory.limiter("policy-service").getLimit());
+    }
+
+    private static MockServerWebExchange routed(String routeId, String path) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id(routeId)
+                .uri("http://policy-service:9090")
+                .predicate(ignored -> true)
+                .build());
+        return exchange;
+    }
+}
@@ -0,0 +1,163 @@
+package com.insutech.gateway.filter;
+
+import com.insutech.gateway.cache.CachedResponse;
+import com.insutech.gateway.cache.ResponseCacheStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private static final String BODY = "[{\"id\":1}]";
+
+    private ResponseCacheStore store;
+    private GatewayFilter filter;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        store = mock(ResponseCacheStore.class);
+        when(store.get(anyString())).thenReturn(Mono.empty());
+        ResponseCacheGatewayFilterFactory factory = new ResponseCacheGatewayFilterFactory(store, DataSize.ofBytes(64));
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setTtl(Duration.ofSeconds(10));
+        config.setVary(List.of("Accept"));
+        config.setPaths(List.of("/api/users", "/api/v1/policies/filter"));
+        filter = factory.apply(config);
+    }
+
+    @Test
+    void shouldCollapseConcurrentIdenticalGetsIntoOneUpstreamCall() {
+        MockServerWebExchange leader = exchange(MockServerHttpRequest.get("/api/v1/policies/filter?status=ACTIVE"));
+        MockServerWebExchange follower = exchange(MockServerHttpRequest.get("/api/v1/policies/filter?status=ACTIVE"));
+
+        Mono.when(filter.filter(leader, upstream(Duration.ofMillis(200))),
+                Mono.delay(Duration.ofMillis(50)).then(filter.filter(follower, upstream(Duration.ZERO)))).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(BODY, leader.getResponse().getBodyAsString().block());
+        assertEquals(BODY, follower.getResponse().getBodyAsString().block());
+        assertEquals("MISS", leader.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals("COALESCED", follower.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertNotNull(follower.getResponse().getHeaders().getETag());
+        verify(store, times(1)).put(anyString(), any(), eq(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void shouldAnswerMatchingIfNoneMatchFromCacheWith304() {
+        CachedResponse cached = new CachedResponse(200, Map.of(HttpHeaders.CONTENT_TYPE, List.of("application/json")),
+                BODY.getBytes(StandardCharsets.UTF_8), "\"abc\"");
+        when(store.get(anyString())).thenReturn(Mono.just(cached));
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/users").ifNoneMatch("\"abc\""));
+
+        filter.filter(exchange, upstream(Duration.ZERO)).block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, exchange.getResponse().getStatusCode());
+        assertEquals(0, upstreamCalls.get());
+    }
+
+    @Test
+    void shouldBypassRequestsWithCredentialsTheRouteDoesNotVaryOn() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/users")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token"));
+
+        filter.filter(exchange, upstream(Duration.ZERO)).block();
+
+        assertEquals(1, upstreamCalls.get());
+        verify(store, never()).get(anyString());
+        verify(store, never()).put(anyString(), any(), any());
+    }
+
+    @Test
+    void shouldOnlyCacheAllowListedPaths() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/policies/import-jobs/42"));
+
+        filter.filter(exchange, upstream(Duration.ZERO)).block();
+
+        assertEquals(BODY, exchange.getResponse().getBodyAsString().block());
+        verify(store, never()).get(anyString());
+    }
+
+    @Test
+    void shouldStreamChunkedBodyAndStopCapturingPastMaxBodySize() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/users"));
+        List<String> chunks = List.of("[" + "1,".repeat(20), "2,".repeat(20), "3]");
+
+        filter.filter(exchange, upstream(MediaType.APPLICATION_JSON, chunks)).block();
+
+        assertEquals(String.join("", chunks), exchange.getResponse().getBodyAsString().block());
+        assertEquals("MISS", exchange.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        verify(store, never()).put(anyString(), any(), any());
+    }
+
+    @Test
+    void shouldPassStreamingResponsesThroughUncached() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/users"));
+
+        filter.filter(exchange, upstream(MediaType.APPLICATION_NDJSON, List.of("{\"id\":1}\n", "{\"id\":2}\n"))).block();
+
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", exchange.getResponse().getBodyAsString().block());
+        assertNull(exchange.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        verify(store, never()).put(anyString(), any(), any());
+    }
+
+    @Test
+    void shouldKeySeparatelyOnVaryHeadersButNotOnQueryOrder() {
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setVary(List.of("Accept"));
+
+        String first = ResponseCacheGatewayFilterFactory.key(exchange(MockServerHttpRequest.get("/p?a=1&b=2")), config);
+        String reordered = ResponseCacheGatewayFilterFactory.key(exchange(MockServerHttpRequest.get("/p?b=2&a=1")), config);
+        String otherAccept = ResponseCacheGatewayFilterFactory.key(exchange(MockServerHttpRequest.get("/p?a=1&b=2")
+                .accept(MediaType.TEXT_PLAIN)), config);
+
+        assertEquals(first, reordered);
+        assertNotEquals(first, otherAccept);
+    }
+
+    private GatewayFilterChain upstream(Duration latency) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.delay(latency).then(Mono.defer(() -> {
+                exchange.getResponse().setStatusCode(HttpStatus.OK);
+                exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                return exchange.getResponse().writeWith(Mono.just(
+                        exchange.getResponse().bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+            }));
+        };
+    }
+
+    private GatewayFilterChain upstream(MediaType contentType, List<String> chunks) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setContentType(contentType);
+            return exchange.getResponse().writeWith(Flux.fromIterable(chunks).map(chunk ->
+                    exchange.getResponse().bufferFactory().wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request);
+    }
+}
@@ -0,0 +1,54 @@
+package com.insutech.gateway.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+    @Test
+    void shouldRefuseRequestsBeyondTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, Duration.ofMillis(500), 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(FAST, false);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void shouldGrowUnderLoadAndBackOffOnSlowOrFailedResponses() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 2, 10, Duration.ofMillis(500), 0.5);
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+        }
+
+        limiter.release(FAST, false);
+        assertEquals(5, limiter.getLimit());
+
+        limiter.release(SLOW, false);
+        assertEquals(2, limiter.getLimit());
+
+        limiter.release(FAST, true);
+        assertEquals(2, limiter.getLimit(), "never below the minimum");
+    }
+
+    @Test
+    void shouldNotGrowWhileMostlyIdle() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 50, Duration.ofMillis(500), 0.9);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST, false);
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+}
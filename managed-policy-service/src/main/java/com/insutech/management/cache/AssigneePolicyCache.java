@@ -0,0 +1,85 @@
+package com.insutech.management.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.insutech.management.dto.ManagedPolicyQuery;
+import com.insutech.management.dto.ManagedPolicySlice;
+import com.insutech.management.enums.PolicySortField;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cache of underwriter worklist pages, keyed by the assignee plus everything else that
+ * shapes the page (filters, order, cursor, limit).
+ *
+ * <p>A write only invalidates the pages of the assignee it touched; every other
+ * worklist stays cached. Admin listings span all assignees and are not cached here.
+ */
+@Slf4j
+@Component
+public class AssigneePolicyCache {
+
+    private final Cache<Key, ManagedPolicySlice> cache = Caffeine.newBuilder()
+            .expireAfterWrite(10, TimeUnit.MINUTES)
+            .maximumSize(1000)
+            .recordStats()
+            .build();
+
+    // Guards the race between a query that read the database before a write committed
+    // and that write's eviction: pages are only stored if no eviction ran meanwhile.
+    private final Object writeLock = new Object();
+    private long generation;
+
+    public ManagedPolicySlice get(String assignee, ManagedPolicyQuery query, Supplier<ManagedPolicySlice> loader) {
+        Key key = Key.of(assignee, query);
+        ManagedPolicySlice cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long observed;
+        synchronized (writeLock) {
+            observed = generation;
+        }
+        ManagedPolicySlice slice = loader.get();
+        synchronized (writeLock) {
+            if (generation == observed) {
+                cache.put(key, slice);
+            }
+        }
+        return slice;
+    }
+
+    public void evictAssignee(String assignee) {
+        synchronized (writeLock) {
+            generation++;
+            cache.asMap().keySet().removeIf(key -> key.assignee().equals(assignee));
+        }
+        log.debug("Evicted cached worklist pages of {}", assignee);
+    }
+
+    public void invalidateAll() {
+        synchronized (writeLock) {
+            generation++;
+            cache.invalidateAll();
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private record Key(String assignee, String status, String type, PolicySortField sort,
+                       Sort.Direction direction, String cursor, int limit) {
+
+        static Key of(String assignee, ManagedPolicyQuery query) {
+            return new Key(assignee, query.getStatus(), query.getType(), query.getSort(),
+                    query.getDirection(), query.getCursor(), query.getLimit());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.insutech.management.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.insutech.management.cache.AssigneePolicyCache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final CacheManager cacheManager;
+    private final AssigneePolicyCache assigneePolicyCache;
+
+    public CacheController(CacheManager cacheManager, AssigneePolicyCache assigneePolicyCache) {
+        this.cacheManager = cacheManager;
+        this.assigneePolicyCache = assigneePolicyCache;
+    }
+
+    @GetMapping("/stats")
+    public Map<String, Map<String, Object>> getCacheStats() {
+        Map<String, Map<String, Object>> stats = new HashMap<>();
+
+        cacheManager.getCacheNames().forEach(cacheName -> {
+            CaffeineCache caffeineCache = (CaffeineCache) cacheManager.getCache(cacheName);
+            if (caffeineCache != null) {
+                stats.put(cacheName, toMap(caffeineCache.getNativeCache().stats()));
+            }
+        });
+        stats.put("assigneePolicies", toMap(assigneePolicyCache.stats()));
+
+        return stats;
+    }
+
+    private Map<String, Object> toMap(CacheStats cacheStats) {
+        Map<String, Object> cacheStatsMap = new HashMap<>();
+        cacheStatsMap.put("hitCount", cacheStats.hitCount());
+        cacheStatsMap.put("missCount", cacheStats.missCount());
+        cacheStatsMap.put("loadSuccessCount", cacheStats.loadSuccessCount());
+        cacheStatsMap.put("loadFailureCount", cacheStats.loadFailureCount());
+        cacheStatsMap.put("totalLoadTime", cacheStats.totalLoadTime());
+        cacheStatsMap.put("evictionCount", cacheStats.evictionCount());
+        return cacheStatsMap;
+    }
+}
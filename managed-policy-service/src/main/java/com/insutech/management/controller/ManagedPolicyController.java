@@ -1,10 +1,19 @@
 package com.insutech.management.controller;
 
 
+import com.insutech.management.dto.BulkResultResponse;
+import com.insutech.management.dto.ManagedPolicyQuery;
 import com.insutech.management.dto.ManagedPolicyRequest;
 import com.insutech.management.dto.ManagedPolicyResponse;
+import com.insutech.management.dto.ManagedPolicySlice;
+import com.insutech.management.dto.ReassignmentRequest;
+import com.insutech.management.enums.PolicySortField;
+import com.insutech.management.enums.Role;
+import com.insutech.management.exception.InvalidPolicyQueryException;
 import com.insutech.management.service.ManagedPolicyService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,23 +25,68 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ManagedPolicyController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_LIMIT = 1000;
+
     private final ManagedPolicyService service;
 
     @PostMapping
-    public ResponseEntity<ManagedPolicyResponse> createPolicy(@RequestBody ManagedPolicyRequest request) {
+    public ResponseEntity<ManagedPolicyResponse> createPolicy(@Valid @RequestBody ManagedPolicyRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED).body(service.createPolicy(request));
     }
 
+    /**
+     * Create many policies in one transaction; all or nothing.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BulkResultResponse> createPolicies(@RequestBody List<ManagedPolicyRequest> requests) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.createPolicies(requests));
+    }
+
+    /**
+     * Move an assignee's policies, or the subset matching {@code status}/{@code type}, to
+     * another assignee.
+     */
+    @PostMapping("/reassign")
+    public ResponseEntity<BulkResultResponse> reassignPolicies(@RequestBody ReassignmentRequest request) {
+        return ResponseEntity.ok(service.reassignPolicies(request));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ManagedPolicyResponse> getPolicyById(@PathVariable Long id) {
         return ResponseEntity.ok(service.getPolicyById(id));
     }
 
+    /**
+     * One page of policies as a JSON array. When more follow, {@code X-Next-Cursor}
+     * carries the token to pass back as {@code cursor} for the next page.
+     */
     @GetMapping
     public ResponseEntity<List<ManagedPolicyResponse>> getPolicies(
             @RequestParam String role,
-            @RequestParam(required = false) String username) {
-        return ResponseEntity.ok(service.getPolicies(role, username));
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        ManagedPolicyQuery query = ManagedPolicyQuery.builder()
+                .role(parse(Role.class, role, "role"))
+                .username(username)
+                .status(status)
+                .type(type)
+                .sort(sortField(sort))
+                .direction(parse(Sort.Direction.class, direction, "direction"))
+                .cursor(cursor)
+                .limit(Math.max(1, Math.min(limit, MAX_LIMIT)))
+                .build();
+        ManagedPolicySlice slice = service.getPolicies(query);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (slice.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, slice.getNextCursor());
+        }
+        return response.body(slice.getItems());
     }
 
     @DeleteMapping("/{id}")
@@ -40,4 +94,20 @@ public class ManagedPolicyController {
         service.deletePolicy(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static PolicySortField sortField(String sort) {
+        return switch (sort) {
+            case "id" -> PolicySortField.ID;
+            case "policyNumber" -> PolicySortField.POLICY_NUMBER;
+            default -> throw new InvalidPolicyQueryException("Unsupported sort: " + sort);
+        };
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, String name) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPolicyQueryException("Invalid " + name + ": " + value);
+        }
+    }
 }
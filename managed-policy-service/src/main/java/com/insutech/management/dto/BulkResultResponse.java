@@ -0,0 +1,8 @@
+package com.insutech.management.dto;
+
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class BulkResultResponse {
+    private int affected;
+}
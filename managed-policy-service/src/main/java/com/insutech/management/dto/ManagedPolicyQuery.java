@@ -0,0 +1,25 @@
+package com.insutech.management.dto;
+
+import com.insutech.management.enums.PolicySortField;
+import com.insutech.management.enums.Role;
+import lombok.*;
+import org.springframework.data.domain.Sort;
+
+/**
+ * One page of a managed-policy listing: who is asking, optional filters, the order and
+ * the opaque cursor returned with the previous page.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ManagedPolicyQuery {
+    private Role role;
+    private String username;
+    private String status;
+    private String type;
+    @Builder.Default
+    private PolicySortField sort = PolicySortField.ID;
+    @Builder.Default
+    private Sort.Direction direction = Sort.Direction.ASC;
+    private String cursor;
+    @Builder.Default
+    private int limit = 100;
+}
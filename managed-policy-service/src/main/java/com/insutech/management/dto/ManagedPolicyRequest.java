@@ -1,11 +1,19 @@
 package com.insutech.management.dto;
 
+import jakarta.validation.constraints.NotBlank;
 import lombok.*;
 
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class ManagedPolicyRequest {
+    @NotBlank(message = "Policy number is required")
     private String policyNumber;
+
+    @NotBlank(message = "Type is required")
     private String type;
+
+    @NotBlank(message = "Status is required")
     private String status;
+
+    @NotBlank(message = "Assignee is required")
     private String assignedTo;
 }
\ No newline at end of file
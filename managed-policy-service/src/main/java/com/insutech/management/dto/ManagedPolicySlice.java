@@ -0,0 +1,14 @@
+package com.insutech.management.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * A page of managed policies; {@code nextCursor} is null on the last page.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ManagedPolicySlice {
+    private List<ManagedPolicyResponse> items;
+    private String nextCursor;
+}
@@ -0,0 +1,15 @@
+package com.insutech.management.dto;
+
+import lombok.*;
+
+/**
+ * Move policies from one assignee to another; {@code status} and {@code type} narrow the
+ * move to a subset of the book when given.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ReassignmentRequest {
+    private String from;
+    private String to;
+    private String status;
+    private String type;
+}
@@ -4,7 +4,12 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "managed_policies")
+@Table(name = "managed_policies", indexes = {
+        // Listing for one assignee, in either supported order, is an index range scan
+        @Index(name = "idx_managed_policies_assigned_to_id", columnList = "assignedTo, id"),
+        @Index(name = "idx_managed_policies_assigned_to_number", columnList = "assignedTo, policyNumber"),
+        @Index(name = "idx_managed_policies_status_type_id", columnList = "status, type, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,20 @@
+package com.insutech.management.enums;
+
+/**
+ * Orders a managed-policy listing can be returned in. Both attributes are unique, so the
+ * last value of a page is enough to continue after it.
+ */
+public enum PolicySortField {
+    ID("id"),
+    POLICY_NUMBER("policyNumber");
+
+    private final String attribute;
+
+    PolicySortField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+}
@@ -0,0 +1,11 @@
+package com.insutech.management.enums;
+
+/**
+ * Roles issued by user-service; only {@link #ADMIN} sees every managed policy.
+ */
+public enum Role {
+    UNDERWRITER,
+    ACCOUNT_MANAGER,
+    ADMIN,
+    CLIENT
+}
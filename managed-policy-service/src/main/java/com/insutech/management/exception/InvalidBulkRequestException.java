@@ -0,0 +1,7 @@
+package com.insutech.management.exception;
+
+public class InvalidBulkRequestException extends RuntimeException {
+    public InvalidBulkRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.insutech.management.exception;
+
+public class InvalidPolicyQueryException extends RuntimeException {
+    public InvalidPolicyQueryException(String message) {
+        super(message);
+    }
+}
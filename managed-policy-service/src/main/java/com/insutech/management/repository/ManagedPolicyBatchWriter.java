@@ -0,0 +1,44 @@
+package com.insutech.management.repository;
+
+import com.insutech.management.dto.ManagedPolicyRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Plain JDBC batch inserts for bulk creation, bypassing the persistence context: with
+ * IDENTITY ids Hibernate would issue one INSERT per entity. With
+ * {@code reWriteBatchedInserts=true} the PostgreSQL driver sends each batch as
+ * multi-row INSERTs.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ManagedPolicyBatchWriter {
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO managed_policies (policy_number, type, status, assigned_to)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert all policies in one transaction; a duplicate policy number rolls back the
+     * whole call.
+     */
+    @Transactional
+    public int insertAll(List<ManagedPolicyRequest> policies) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, policies, BATCH_SIZE, (ps, policy) -> {
+            ps.setString(1, policy.getPolicyNumber());
+            ps.setString(2, policy.getType());
+            ps.setString(3, policy.getStatus());
+            ps.setString(4, policy.getAssignedTo());
+        });
+        return policies.size();
+    }
+}
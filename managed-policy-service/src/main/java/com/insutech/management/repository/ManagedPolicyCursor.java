@@ -0,0 +1,41 @@
+package com.insutech.management.repository;
+
+import com.insutech.management.enums.PolicySortField;
+import com.insutech.management.exception.InvalidPolicyQueryException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset paging: the sort field, the direction and the
+ * last value returned, base64url encoded. A token only continues the listing order it
+ * was issued for.
+ */
+public record ManagedPolicyCursor(PolicySortField sort, Sort.Direction direction, Comparable<?> lastValue) {
+
+    public String encode() {
+        String raw = sort.name() + ":" + direction.name() + ":" + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ManagedPolicyCursor decode(String token, PolicySortField sort, Sort.Direction direction) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":", 3);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPolicyQueryException("Malformed cursor");
+        }
+        if (parts.length != 3 || !parts[0].equals(sort.name()) || !parts[1].equals(direction.name())) {
+            throw new InvalidPolicyQueryException("Cursor does not belong to this sort order");
+        }
+        if (sort == PolicySortField.POLICY_NUMBER) {
+            return new ManagedPolicyCursor(sort, direction, parts[2]);
+        }
+        try {
+            return new ManagedPolicyCursor(sort, direction, Long.valueOf(parts[2]));
+        } catch (NumberFormatException e) {
+            throw new InvalidPolicyQueryException("Malformed cursor");
+        }
+    }
+}
@@ -3,9 +3,29 @@ package com.insutech.management.repository;
 
 import com.insutech.management.entity.ManagedPolicy;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
-public interface ManagedPolicyRepository extends JpaRepository<ManagedPolicy, Long> {
+public interface ManagedPolicyRepository extends JpaRepository<ManagedPolicy, Long>,
+        JpaSpecificationExecutor<ManagedPolicy> {
     List<ManagedPolicy> findByAssignedTo(String username);
+
+    /**
+     * One set-based UPDATE over the (assigned_to, id) index; null filters match any value.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update ManagedPolicy p set p.assignedTo = :to
+            where p.assignedTo = :from
+              and (:status is null or p.status = :status)
+              and (:type is null or p.type = :type)
+            """)
+    int reassign(@Param("from") String from, @Param("to") String to,
+                 @Param("status") String status, @Param("type") String type);
 }
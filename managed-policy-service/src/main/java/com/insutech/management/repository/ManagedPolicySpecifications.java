@@ -0,0 +1,47 @@
+package com.insutech.management.repository;
+
+import com.insutech.management.entity.ManagedPolicy;
+import com.insutech.management.enums.PolicySortField;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Criteria for listing managed policies. A null argument means "no restriction", so the
+ * pieces can be combined with {@link Specification#allOf} regardless of which filters the
+ * caller supplied.
+ */
+public final class ManagedPolicySpecifications {
+
+    private ManagedPolicySpecifications() {
+    }
+
+    public static Specification<ManagedPolicy> assignedTo(String username) {
+        return (root, query, cb) -> username == null ? null : cb.equal(root.get("assignedTo"), username);
+    }
+
+    public static Specification<ManagedPolicy> hasStatus(String status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<ManagedPolicy> hasType(String type) {
+        return (root, query, cb) -> type == null ? null : cb.equal(root.get("type"), type);
+    }
+
+    /**
+     * Rows strictly after {@code lastValue} in the listing order; the keyset continuation
+     * of a previous page.
+     */
+    public static Specification<ManagedPolicy> after(PolicySortField sort, Sort.Direction direction,
+                                                     Comparable<?> lastValue) {
+        return (root, query, cb) -> {
+            if (lastValue == null) {
+                return null;
+            }
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            jakarta.persistence.criteria.Path<Comparable> path = root.get(sort.getAttribute());
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            Comparable value = lastValue;
+            return direction.isAscending() ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+        };
+    }
+}
@@ -2,14 +2,20 @@ package com.insutech.management.service;
 
 
 
+import com.insutech.management.dto.BulkResultResponse;
+import com.insutech.management.dto.ManagedPolicyQuery;
 import com.insutech.management.dto.ManagedPolicyRequest;
 import com.insutech.management.dto.ManagedPolicyResponse;
+import com.insutech.management.dto.ManagedPolicySlice;
+import com.insutech.management.dto.ReassignmentRequest;
 
 import java.util.List;
 
 public interface ManagedPolicyService {
     ManagedPolicyResponse createPolicy(ManagedPolicyRequest request);
     ManagedPolicyResponse getPolicyById(Long id);
-    List<ManagedPolicyResponse> getPolicies(String role, String username);
+    ManagedPolicySlice getPolicies(ManagedPolicyQuery query);
     void deletePolicy(Long id);
+    BulkResultResponse createPolicies(List<ManagedPolicyRequest> requests);
+    BulkResultResponse reassignPolicies(ReassignmentRequest request);
 }
@@ -1,52 +1,178 @@
 package com.insutech.management.service.impl;
 
 
+import com.insutech.management.cache.AssigneePolicyCache;
+import com.insutech.management.dto.BulkResultResponse;
+import com.insutech.management.dto.ManagedPolicyQuery;
 import com.insutech.management.dto.ManagedPolicyRequest;
 import com.insutech.management.dto.ManagedPolicyResponse;
+import com.insutech.management.dto.ManagedPolicySlice;
+import com.insutech.management.dto.ReassignmentRequest;
 import com.insutech.management.entity.ManagedPolicy;
+import com.insutech.management.enums.PolicySortField;
+import com.insutech.management.enums.Role;
+import com.insutech.management.exception.InvalidBulkRequestException;
+import com.insutech.management.exception.InvalidPolicyQueryException;
 import com.insutech.management.exception.ManagedPolicyNotFoundException;
 import com.insutech.management.mapper.ManagedPolicyMapper;
+import com.insutech.management.repository.ManagedPolicyBatchWriter;
+import com.insutech.management.repository.ManagedPolicyCursor;
 import com.insutech.management.repository.ManagedPolicyRepository;
+import com.insutech.management.repository.ManagedPolicySpecifications;
 import com.insutech.management.service.ManagedPolicyService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ManagedPolicyServiceImpl implements ManagedPolicyService {
 
+    static final int MAX_BATCH_SIZE = 50_000;
+
     private final ManagedPolicyRepository repository;
     private final ManagedPolicyMapper mapper;
+    private final AssigneePolicyCache assigneePolicyCache;
+    private final ManagedPolicyBatchWriter batchWriter;
 
     @Override
+    @CachePut(value = "managedPolicies", key = "#result.id")
     public ManagedPolicyResponse createPolicy(ManagedPolicyRequest request) {
-        ManagedPolicy policy = mapper.toEntity(request);
-        return mapper.toResponse(repository.save(policy));
+        ManagedPolicy policy = repository.save(mapper.toEntity(request));
+        assigneePolicyCache.evictAssignee(policy.getAssignedTo());
+        return mapper.toResponse(policy);
     }
 
     @Override
+    @Cacheable(value = "managedPolicies", key = "#id")
     public ManagedPolicyResponse getPolicyById(Long id) {
         ManagedPolicy policy = repository.findById(id)
                 .orElseThrow(() -> new ManagedPolicyNotFoundException(id));
         return mapper.toResponse(policy);
     }
 
+    /**
+     * One bounded, index-backed query per page. Admins list every policy; any other role
+     * only sees the policies assigned to {@code username}. One extra row is fetched to
+     * tell whether another page follows. Worklist pages are served from
+     * {@link AssigneePolicyCache}.
+     */
     @Override
-    public List<ManagedPolicyResponse> getPolicies(String role, String username) {
-        if ("ADMIN".equalsIgnoreCase(role)) {
-            return repository.findAll().stream().map(mapper::toResponse).toList();
-        } else {
-            return repository.findByAssignedTo(username).stream().map(mapper::toResponse).toList();
+    public ManagedPolicySlice getPolicies(ManagedPolicyQuery query) {
+        if (query.getRole() == null) {
+            throw new InvalidPolicyQueryException("Role is required");
+        }
+        if (query.getRole() == Role.ADMIN) {
+            return loadPage(null, query);
+        }
+        String assignee = query.getUsername();
+        if (assignee == null || assignee.isBlank()) {
+            throw new InvalidPolicyQueryException("Username is required for role " + query.getRole());
         }
+        return assigneePolicyCache.get(assignee, query, () -> loadPage(assignee, query));
+    }
+
+    private ManagedPolicySlice loadPage(String assignee, ManagedPolicyQuery query) {
+        Comparable<?> lastValue = query.getCursor() == null ? null
+                : ManagedPolicyCursor.decode(query.getCursor(), query.getSort(), query.getDirection()).lastValue();
+
+        Specification<ManagedPolicy> spec = Specification.allOf(
+                ManagedPolicySpecifications.assignedTo(assignee),
+                ManagedPolicySpecifications.hasStatus(query.getStatus()),
+                ManagedPolicySpecifications.hasType(query.getType()),
+                ManagedPolicySpecifications.after(query.getSort(), query.getDirection(), lastValue));
+        Sort sort = Sort.by(query.getDirection(), query.getSort().getAttribute());
+        int limit = query.getLimit();
+
+        List<ManagedPolicy> rows = repository.findBy(spec, q -> q.sortBy(sort).limit(limit + 1).all());
+        boolean hasMore = rows.size() > limit;
+        List<ManagedPolicy> page = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            ManagedPolicy last = page.get(page.size() - 1);
+            Comparable<?> value = query.getSort() == PolicySortField.POLICY_NUMBER ? last.getPolicyNumber() : last.getId();
+            nextCursor = new ManagedPolicyCursor(query.getSort(), query.getDirection(), value).encode();
+        }
+        return ManagedPolicySlice.builder()
+                .items(page.stream().map(mapper::toResponse).toList())
+                .nextCursor(nextCursor)
+                .build();
     }
 
     @Override
+    @CacheEvict(value = "managedPolicies", key = "#id")
     public void deletePolicy(Long id) {
-        if (!repository.existsById(id)) {
-            throw new ManagedPolicyNotFoundException(id);
+        ManagedPolicy policy = repository.findById(id)
+                .orElseThrow(() -> new ManagedPolicyNotFoundException(id));
+        repository.delete(policy);
+        assigneePolicyCache.evictAssignee(policy.getAssignedTo());
+    }
+
+    /**
+     * Validates the whole batch up front, then inserts it with one JDBC batch in a single
+     * transaction. Worklist caches are evicted once per distinct assignee afterwards.
+     */
+    @Override
+    public BulkResultResponse createPolicies(List<ManagedPolicyRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidBulkRequestException("At least one policy is required");
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new InvalidBulkRequestException("At most " + MAX_BATCH_SIZE + " policies per request");
+        }
+        Set<String> policyNumbers = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ManagedPolicyRequest request = requests.get(i);
+            if (isBlank(request.getPolicyNumber()) || isBlank(request.getType())
+                    || isBlank(request.getStatus()) || isBlank(request.getAssignedTo())) {
+                throw new InvalidBulkRequestException("Policy " + i + " is missing required fields");
+            }
+            if (!policyNumbers.add(request.getPolicyNumber())) {
+                throw new InvalidBulkRequestException("Duplicate policy number in request: " + request.getPolicyNumber());
+            }
         }
-        repository.deleteById(id);
+
+        int inserted = batchWriter.insertAll(requests);
+        requests.stream().map(ManagedPolicyRequest::getAssignedTo).distinct()
+                .forEach(assigneePolicyCache::evictAssignee);
+        log.info("Bulk created {} managed policies", inserted);
+        return new BulkResultResponse(inserted);
+    }
+
+    /**
+     * One UPDATE statement. Cached policies by id carry the assignee, so that region is
+     * cleared; only the two affected worklists are evicted.
+     */
+    @Override
+    @CacheEvict(value = "managedPolicies", allEntries = true)
+    public BulkResultResponse reassignPolicies(ReassignmentRequest request) {
+        if (isBlank(request.getFrom()) || isBlank(request.getTo())) {
+            throw new InvalidBulkRequestException("Both from and to are required");
+        }
+        if (request.getFrom().equals(request.getTo())) {
+            throw new InvalidBulkRequestException("from and to must differ");
+        }
+
+        int reassigned = repository.reassign(request.getFrom(), request.getTo(),
+                request.getStatus(), request.getType());
+        assigneePolicyCache.evictAssignee(request.getFrom());
+        assigneePolicyCache.evictAssignee(request.getTo());
+        log.info("Reassigned {} managed policies from {} to {}", reassigned, request.getFrom(), request.getTo());
+        return new BulkResultResponse(reassigned);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
     }
 }
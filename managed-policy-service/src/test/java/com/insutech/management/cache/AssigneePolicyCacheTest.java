@@ -0,0 +1,49 @@
+package com.insutech.management.cache;
+
+import com.insutech.management.dto.ManagedPolicyQuery;
+import com.insutech.management.dto.ManagedPolicySlice;
+import com.insutech.management.enums.Role;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssigneePolicyCacheTest {
+
+    private final AssigneePolicyCache cache = new AssigneePolicyCache();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void shouldOnlyEvictTheAffectedAssignee() {
+        ManagedPolicyQuery query = ManagedPolicyQuery.builder().role(Role.UNDERWRITER).build();
+        cache.get("jane", query, this::load);
+        cache.get("joe", query, this::load);
+
+        cache.evictAssignee("jane");
+        cache.get("jane", query, this::load);
+        cache.get("joe", query, this::load);
+
+        assertEquals(3, loads.get());
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    void shouldNotStorePageLoadedAcrossAnEviction() {
+        ManagedPolicyQuery query = ManagedPolicyQuery.builder().role(Role.UNDERWRITER).build();
+
+        cache.get("jane", query, () -> {
+            cache.evictAssignee("jane"); // a write commits while the page is being read
+            return load();
+        });
+        cache.get("jane", query, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    private ManagedPolicySlice load() {
+        loads.incrementAndGet();
+        return ManagedPolicySlice.builder().items(List.of()).build();
+    }
+}
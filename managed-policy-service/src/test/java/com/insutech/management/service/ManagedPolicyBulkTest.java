@@ -0,0 +1,111 @@
+package com.insutech.management.service;
+
+import com.insutech.management.cache.AssigneePolicyCache;
+import com.insutech.management.dto.ManagedPolicyRequest;
+import com.insutech.management.dto.ReassignmentRequest;
+import com.insutech.management.entity.ManagedPolicy;
+import com.insutech.management.exception.GlobalExceptionHandler;
+import com.insutech.management.exception.InvalidBulkRequestException;
+import com.insutech.management.mapper.ManagedPolicyMapper;
+import com.insutech.management.repository.ManagedPolicyBatchWriter;
+import com.insutech.management.repository.ManagedPolicyRepository;
+import com.insutech.management.service.impl.ManagedPolicyServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs outside a test transaction so the all-or-nothing behaviour of the bulk writes is
+ * what the assertions see.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ManagedPolicyServiceImpl.class, ManagedPolicyMapper.class, AssigneePolicyCache.class,
+        ManagedPolicyBatchWriter.class})
+class ManagedPolicyBulkTest {
+
+    @Autowired
+    private ManagedPolicyService service;
+
+    @Autowired
+    private ManagedPolicyRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void shouldCreateAndReassignBookSpanningSeveralBatches() {
+        int size = 2_500; // three JDBC batches, the last one partial
+        List<ManagedPolicyRequest> book = IntStream.range(0, size)
+                .mapToObj(i -> request("MP-" + i, i % 10 == 0 ? "PENDING" : "ACTIVE", "jane"))
+                .toList();
+
+        assertEquals(size, service.createPolicies(book).getAffected());
+        assertEquals(size, repository.count());
+
+        int reassigned = service.reassignPolicies(new ReassignmentRequest("jane", "joe", null, null)).getAffected();
+
+        assertEquals(size, reassigned);
+        assertEquals(0, repository.findByAssignedTo("jane").size());
+        assertEquals(size, repository.findByAssignedTo("joe").size());
+    }
+
+    @Test
+    void shouldReassignOnlyTheFilteredSubset() {
+        service.createPolicies(List.of(
+                request("MP-1", "ACTIVE", "jane"),
+                request("MP-2", "PENDING", "jane"),
+                request("MP-3", "ACTIVE", "ann")));
+
+        int reassigned = service.reassignPolicies(new ReassignmentRequest("jane", "joe", "PENDING", null)).getAffected();
+
+        assertEquals(1, reassigned);
+        assertEquals(List.of("MP-2"), repository.findByAssignedTo("joe").stream().map(ManagedPolicy::getPolicyNumber).toList());
+        assertEquals(1, repository.findByAssignedTo("jane").size());
+    }
+
+    @Test
+    void shouldRollBackWholeBatchOnExistingPolicyNumber() {
+        service.createPolicies(List.of(request("MP-1", "ACTIVE", "jane")));
+
+        DataIntegrityViolationException duplicate = assertThrows(DataIntegrityViolationException.class,
+                () -> service.createPolicies(List.of(
+                        request("MP-2", "ACTIVE", "jane"),
+                        request("MP-1", "ACTIVE", "jane"))));
+
+        assertEquals(1, repository.count());
+        assertEquals(HttpStatus.CONFLICT, new GlobalExceptionHandler().handleConflict(duplicate).getStatusCode());
+    }
+
+    @Test
+    void shouldRejectInvalidBatchesBeforeWriting() {
+        assertThrows(InvalidBulkRequestException.class, () -> service.createPolicies(List.of(
+                request("MP-1", "ACTIVE", "jane"),
+                request("MP-1", "ACTIVE", "joe"))));
+        assertThrows(InvalidBulkRequestException.class, () -> service.createPolicies(List.of(
+                request("MP-1", "ACTIVE", null))));
+        assertThrows(InvalidBulkRequestException.class,
+                () -> service.reassignPolicies(new ReassignmentRequest("jane", "jane", null, null)));
+        assertEquals(0, repository.count());
+    }
+
+    private static ManagedPolicyRequest request(String number, String status, String assignee) {
+        return new ManagedPolicyRequest(number, "AUTO", status, assignee);
+    }
+}
@@ -0,0 +1,90 @@
+package com.insutech.management.service;
+
+import com.insutech.management.cache.AssigneePolicyCache;
+import com.insutech.management.dto.ManagedPolicyQuery;
+import com.insutech.management.dto.ManagedPolicyResponse;
+import com.insutech.management.dto.ManagedPolicySlice;
+import com.insutech.management.entity.ManagedPolicy;
+import com.insutech.management.enums.PolicySortField;
+import com.insutech.management.enums.Role;
+import com.insutech.management.exception.InvalidPolicyQueryException;
+import com.insutech.management.mapper.ManagedPolicyMapper;
+import com.insutech.management.repository.ManagedPolicyBatchWriter;
+import com.insutech.management.repository.ManagedPolicyRepository;
+import com.insutech.management.service.impl.ManagedPolicyServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import({ManagedPolicyServiceImpl.class, ManagedPolicyMapper.class, AssigneePolicyCache.class,
+        ManagedPolicyBatchWriter.class})
+class ManagedPolicyListingTest {
+
+    @Autowired
+    private ManagedPolicyService service;
+
+    @Autowired
+    private ManagedPolicyRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 7; i++) {
+            repository.save(policy("MP-" + i, i % 2 == 0 ? "ACTIVE" : "PENDING", i <= 5 ? "jane" : "joe"));
+        }
+    }
+
+    @Test
+    void shouldWalkEveryPageWithTheCursor() {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ManagedPolicySlice slice = service.getPolicies(query(Role.ADMIN, null).cursor(cursor).limit(3).build());
+            slice.getItems().forEach(policy -> seen.add(policy.getPolicyNumber()));
+            cursor = slice.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(List.of("MP-1", "MP-2", "MP-3", "MP-4", "MP-5", "MP-6", "MP-7"), seen);
+    }
+
+    @Test
+    void shouldRestrictNonAdminsToTheirAssignmentsAndApplyFilters() {
+        ManagedPolicySlice slice = service.getPolicies(query(Role.UNDERWRITER, "jane")
+                .status("ACTIVE")
+                .sort(PolicySortField.POLICY_NUMBER)
+                .direction(Sort.Direction.DESC)
+                .build());
+
+        assertEquals(List.of("MP-4", "MP-2"), slice.getItems().stream().map(ManagedPolicyResponse::getPolicyNumber).toList());
+        assertNull(slice.getNextCursor());
+    }
+
+    @Test
+    void shouldRejectMissingUsernameAndForeignCursor() {
+        assertThrows(InvalidPolicyQueryException.class,
+                () -> service.getPolicies(query(Role.CLIENT, " ").build()));
+
+        String idCursor = service.getPolicies(query(Role.ADMIN, null).limit(1).build()).getNextCursor();
+        assertThrows(InvalidPolicyQueryException.class, () -> service.getPolicies(query(Role.ADMIN, null)
+                .sort(PolicySortField.POLICY_NUMBER).cursor(idCursor).build()));
+    }
+
+    private static ManagedPolicyQuery.ManagedPolicyQueryBuilder query(Role role, String username) {
+        return ManagedPolicyQuery.builder().role(role).username(username);
+    }
+
+    private static ManagedPolicy policy(String number, String status, String assignee) {
+        return ManagedPolicy.builder().policyNumber(number).type("AUTO").status(status).assignedTo(assignee).build();
+    }
+}
@@ -0,0 +1,199 @@
+package com.insurance.policy.insutech.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.PolicyChangeDTO;
+import com.insurance.policy.insutech.event.PoliciesImportedEvent;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import com.insurance.policy.insutech.event.PolicyChangedEvent.ChangeType;
+import com.insurance.policy.insutech.search.PolicySearchIndex;
+import com.insurance.policy.insutech.snapshot.PolicySnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Keeps the local caches of every policy-service instance coherent over Redis pub/sub.
+ *
+ * <p>Committed local writes are queued and flushed every few milliseconds as batched
+ * messages of up to {@code maxBatchSize} changes; each change carries the policy id, its
+ * version stamp and the state after the write. A receiving instance skips its own
+ * messages and any change whose version it already has ({@link PolicyVersionStamps}),
+ * so duplicates and out-of-order deliveries are harmless. Fresh changes are applied the
+ * way local commits are: the "policies" and "policyNumbers" entries are replaced,
+ * "allPolicies" is cleared, filtered results are patched (or dropped for large batches),
+ * and the snapshot and search index take the new state.
+ *
+ * <p>Pub/sub is not durable: an instance that misses a message serves the old copy until
+ * the entry expires. Message format: JSON {@code {"origin": ..., "changes": [PolicyChangeDTO...]}}.
+ */
+@Slf4j
+public class ClusterCacheInvalidator implements MessageListener {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final int maxBatchSize;
+    private final int patchLimit;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Queue<PolicyChangeDTO> pending = new ConcurrentLinkedQueue<>();
+
+    private final PolicyVersionStamps versionStamps;
+    private final PolicyNumberIndex policyNumberIndex;
+    private final FilteredPolicyCache filteredPolicyCache;
+    private final CacheManager cacheManager;
+    private final PolicySnapshot policySnapshot;
+    private final PolicySearchIndex policySearchIndex;
+
+    public ClusterCacheInvalidator(StringRedisTemplate redisTemplate,
+                                   ObjectMapper objectMapper,
+                                   String channel,
+                                   int maxBatchSize,
+                                   int patchLimit,
+                                   PolicyVersionStamps versionStamps,
+                                   PolicyNumberIndex policyNumberIndex,
+                                   FilteredPolicyCache filteredPolicyCache,
+                                   CacheManager cacheManager,
+                                   PolicySnapshot policySnapshot,
+                                   PolicySearchIndex policySearchIndex) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        this.maxBatchSize = maxBatchSize;
+        this.patchLimit = patchLimit;
+        this.versionStamps = versionStamps;
+        this.policyNumberIndex = policyNumberIndex;
+        this.filteredPolicyCache = filteredPolicyCache;
+        this.cacheManager = cacheManager;
+        this.policySnapshot = policySnapshot;
+        this.policySearchIndex = policySearchIndex;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        AutoPolicyDTO policy = event.policy();
+        pending.add(new PolicyChangeDTO(null, event.type(), event.policyId(),
+                policy != null ? policy.getVersion() : null, Instant.now(), policy));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPoliciesImported(PoliciesImportedEvent event) {
+        Instant now = Instant.now();
+        event.policies().forEach(policy -> pending.add(
+                new PolicyChangeDTO(null, ChangeType.CREATED, policy.getId(), policy.getVersion(), now, policy)));
+    }
+
+    /**
+     * Publish queued changes in messages of at most {@code maxBatchSize}.
+     */
+    @Scheduled(fixedDelayString = "${policy.cache.cluster.flush-interval:20ms}")
+    public void flush() {
+        List<PolicyChangeDTO> batch = new ArrayList<>();
+        PolicyChangeDTO change;
+        while ((change = pending.poll()) != null) {
+            batch.add(change);
+            if (batch.size() == maxBatchSize) {
+                publish(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            publish(batch);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        InvalidationMessage received;
+        try {
+            received = objectMapper.readValue(message.getBody(), InvalidationMessage.class);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable cache invalidation on {}: {}", channel, e.getMessage());
+            return;
+        }
+        if (!instanceId.equals(received.origin())) {
+            apply(received.changes());
+        }
+    }
+
+    /**
+     * Apply a peer's changes that are newer than what this instance has seen.
+     */
+    void apply(List<PolicyChangeDTO> changes) {
+        List<PolicyChangeDTO> fresh = changes.stream()
+                .filter(change -> versionStamps.advance(change.getPolicyId(), PolicyVersionStamps.stampOf(
+                        change.getType() == ChangeType.DELETED ? null : change.getPolicy())))
+                .toList();
+        if (fresh.isEmpty()) {
+            return;
+        }
+        Cache allPolicies = cacheManager.getCache("allPolicies");
+        if (allPolicies != null) {
+            allPolicies.clear();
+        }
+        // Patching every filtered entry per change costs more than reloading after a bulk write
+        boolean patch = fresh.size() <= patchLimit;
+        if (!patch) {
+            filteredPolicyCache.invalidateAll();
+        }
+
+        List<AutoPolicyDTO> created = new ArrayList<>();
+        for (PolicyChangeDTO change : fresh) {
+            PolicyChangedEvent event = new PolicyChangedEvent(change.getType(), change.getPolicyId(),
+                    change.getType() == ChangeType.DELETED ? null : change.getPolicy());
+            policyNumberIndex.onPolicyChanged(event);
+            if (patch) {
+                filteredPolicyCache.onPolicyChanged(event);
+            }
+            if (change.getType() == ChangeType.CREATED) {
+                created.add(change.getPolicy());
+            } else {
+                applyCreated(created); // keep creates ahead of later changes to the same policy
+                policySnapshot.onPolicyChanged(event);
+                policySearchIndex.onPolicyChanged(event);
+            }
+        }
+        applyCreated(created);
+    }
+
+    private void applyCreated(List<AutoPolicyDTO> created) {
+        if (created.isEmpty()) {
+            return;
+        }
+        PoliciesImportedEvent imported = new PoliciesImportedEvent(List.copyOf(created));
+        policySnapshot.onPoliciesImported(imported);
+        policySearchIndex.onPoliciesImported(imported);
+        created.clear();
+    }
+
+    private void publish(List<PolicyChangeDTO> batch) {
+        try {
+            redisTemplate.convertAndSend(channel,
+                    objectMapper.writeValueAsString(new InvalidationMessage(instanceId, batch)));
+        } catch (JsonProcessingException | RuntimeException e) {
+            // Peers fall back to entry expiry for these policies
+            log.warn("Could not publish {} cache invalidations on {}: {}", batch.size(), channel, e.getMessage());
+        }
+    }
+
+    record InvalidationMessage(String origin, List<PolicyChangeDTO> changes) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.insurance.policy.insutech.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import com.insurance.policy.insutech.filter.PolicyFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Cache of /filter results keyed by the structured {@link PolicyFilter}.
+ *
+ * <p>Instead of flushing every entry on each write, a {@link PolicyChangedEvent} is
+ * checked against each cached filter: entries the policy did not and does not match
+ * are left alone, and affected entries are patched in place (replace, add or remove
+ * the policy). Very large results are invalidated rather than copied.
+ */
+@Slf4j
+@Component
+public class FilteredPolicyCache {
+
+    static final int MAX_PATCHABLE_SIZE = 10_000;
+
+    private final Cache<PolicyFilter, List<AutoPolicyDTO>> cache = Caffeine.newBuilder()
+            .expireAfterWrite(10, TimeUnit.MINUTES)
+            .maximumSize(200)
+            .recordStats()
+            .build();
+
+    // Guards the race between a query that read the database before a write committed
+    // and that write's patch pass: results are only stored if no write was applied meanwhile.
+    private final Object writeLock = new Object();
+    private long generation;
+
+    public List<AutoPolicyDTO> get(PolicyFilter filter, Function<PolicyFilter, List<AutoPolicyDTO>> loader) {
+        List<AutoPolicyDTO> cached = cache.getIfPresent(filter);
+        if (cached != null) {
+            return cached;
+        }
+
+        long observed;
+        synchronized (writeLock) {
+            observed = generation;
+        }
+        List<AutoPolicyDTO> result = List.copyOf(loader.apply(filter));
+        synchronized (writeLock) {
+            if (generation == observed) {
+                cache.put(filter, result);
+            }
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        synchronized (writeLock) {
+            generation++;
+            for (Map.Entry<PolicyFilter, List<AutoPolicyDTO>> entry : cache.asMap().entrySet()) {
+                patch(entry.getKey(), entry.getValue(), event);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (writeLock) {
+            generation++;
+            cache.invalidateAll();
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private void patch(PolicyFilter filter, List<AutoPolicyDTO> policies, PolicyChangedEvent event) {
+        int index = indexOf(policies, event.policyId());
+        boolean matches = !event.isDelete() && filter.matches(event.policy());
+        if (index < 0 && !matches) {
+            return; // the write cannot change this result
+        }
+        if (policies.size() >= MAX_PATCHABLE_SIZE) {
+            cache.invalidate(filter);
+            return;
+        }
+
+        List<AutoPolicyDTO> patched = new ArrayList<>(policies);
+        if (index >= 0 && matches) {
+            patched.set(index, event.policy());
+        } else if (index >= 0) {
+            patched.remove(index);
+        } else {
+            patched.add(event.policy());
+        }
+        cache.asMap().replace(filter, policies, List.copyOf(patched));
+        log.debug("Patched filtered cache entry {} for policy {}", filter, event.policyId());
+    }
+
+    private static int indexOf(List<AutoPolicyDTO> policies, Long id) {
+        for (int i = 0; i < policies.size(); i++) {
+            if (id.equals(policies.get(i).getId())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,84 @@
+package com.insurance.policy.insutech.cache;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Reverse index (id -> policyNumber) for the {@code policies} and {@code policyNumbers}
+ * cache regions. Writes only know the policy id; the index tells us which
+ * {@code policyNumbers} key holds the old copy, so an update or delete touches exactly
+ * one entry per region instead of clearing {@code policyNumbers}.
+ *
+ * <p>Ids are recorded whenever either region is populated. The index is bounded, so if an
+ * id has aged out of it (and of {@code policies}) the {@code policyNumbers} entries are
+ * scanned for that id instead; the region is small, so this stays cheap.
+ */
+public class PolicyNumberIndex {
+
+    private final Cache policies;
+    private final Cache policyNumbers;
+    private final com.github.benmanes.caffeine.cache.Cache<Long, String> numbersById;
+
+    public PolicyNumberIndex(Cache policies,
+                             Cache policyNumbers,
+                             com.github.benmanes.caffeine.cache.Cache<Long, String> numbersById) {
+        this.policies = policies;
+        this.policyNumbers = policyNumbers;
+        this.numbersById = numbersById;
+    }
+
+    /** Remember which policy number a cached policy is stored under. */
+    public void record(AutoPolicyDTO policy) {
+        numbersById.put(policy.getId(), policy.getPolicyNumber());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> {
+                // A new id and number cannot have stale entries in either region
+            }
+            case UPDATED -> {
+                AutoPolicyDTO policy = event.policy();
+                evictPolicyNumberOf(event.policyId(), policy.getPolicyNumber());
+                policies.put(policy.getId(), policy);
+                policyNumbers.put(policy.getPolicyNumber(), policy);
+                record(policy);
+            }
+            case DELETED -> {
+                evictPolicyNumberOf(event.policyId(), null);
+                policies.evict(event.policyId());
+                numbersById.invalidate(event.policyId());
+            }
+        }
+    }
+
+    public long size() {
+        return numbersById.estimatedSize();
+    }
+
+    private void evictPolicyNumberOf(Long id, String unlessEqualTo) {
+        String previous = numbersById.getIfPresent(id);
+        if (previous == null) {
+            AutoPolicyDTO cached = policies.get(id, AutoPolicyDTO.class);
+            previous = cached != null ? cached.getPolicyNumber() : null;
+        }
+        if (previous == null) {
+            evictByScan(id);
+        } else if (!previous.equals(unlessEqualTo)) {
+            policyNumbers.evict(previous);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evictByScan(Long id) {
+        if (policyNumbers.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache).asMap().values()
+                    .removeIf(value -> value instanceof AutoPolicyDTO dto && id.equals(dto.getId()));
+        } else {
+            policyNumbers.clear();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.insurance.policy.insutech.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.event.PoliciesImportedEvent;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Newest known version per policy id, from local commits and from peers' invalidation
+ * messages. A deleted policy is stamped {@link #DELETED}, above every real version.
+ *
+ * <p>Caches consult the stamps before storing a policy (see {@link VersionCheckedCache}),
+ * so a read that loaded a policy before a write committed cannot put the old copy back
+ * after the write's invalidation. Stamps live as long as cache entries do; an id whose
+ * stamp has aged out is simply unguarded.
+ */
+@Component
+public class PolicyVersionStamps {
+
+    public static final long DELETED = Long.MAX_VALUE;
+
+    private final Cache<Long, Long> stamps = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(30, TimeUnit.MINUTES)
+            .build();
+
+    // Runs before the cache listeners so their writes and any racing loads see the new stamp
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        advance(event.policyId(), stampOf(event.policy()));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPoliciesImported(PoliciesImportedEvent event) {
+        event.policies().forEach(policy -> advance(policy.getId(), stampOf(policy)));
+    }
+
+    /**
+     * Raise the stamp of a policy.
+     *
+     * @return true if the version is newer than the stamp, i.e. the change has not been applied yet
+     */
+    public boolean advance(Long id, long version) {
+        boolean[] advanced = {false};
+        stamps.asMap().compute(id, (key, current) -> {
+            if (current == null || version > current) {
+                advanced[0] = true;
+                return version;
+            }
+            return current;
+        });
+        return advanced[0];
+    }
+
+    /** True if a newer version, or a delete, of the policy is known. */
+    public boolean isStale(AutoPolicyDTO policy) {
+        if (policy.getId() == null) {
+            return false;
+        }
+        Long stamp = stamps.getIfPresent(policy.getId());
+        return stamp != null && stampOf(policy) < stamp;
+    }
+
+    /** The stamp a change leaves: its version, or {@link #DELETED} for a delete. */
+    public static long stampOf(AutoPolicyDTO policyAfterWrite) {
+        if (policyAfterWrite == null) {
+            return DELETED;
+        }
+        return policyAfterWrite.getVersion() != null ? policyAfterWrite.getVersion() : 0;
+    }
+}
@@ -0,0 +1,105 @@
+package com.insurance.policy.insutech.cache;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import org.springframework.cache.Cache;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Decorates a cache region so it refuses policies older than their
+ * {@link PolicyVersionStamps} stamp. A list value is refused if any policy in it is
+ * stale, which catches lists loaded before an update or delete committed (a list that
+ * merely lacks a newly created policy cannot be detected this way; the region is
+ * cleared on every write instead). Other values are stored unchecked.
+ *
+ * <p>A refused write also evicts the key: whatever the entry holds may be older than
+ * the refused value, and the next load caches a fresh copy.
+ */
+public class VersionCheckedCache implements Cache {
+
+    private final Cache delegate;
+    private final PolicyVersionStamps versionStamps;
+
+    public VersionCheckedCache(Cache delegate, PolicyVersionStamps versionStamps) {
+        this.delegate = delegate;
+        this.versionStamps = versionStamps;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (isStale(value)) {
+            delegate.evict(key);
+        } else {
+            delegate.put(key, value);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if (isStale(value)) {
+            delegate.evict(key);
+            return null;
+        }
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private boolean isStale(Object value) {
+        if (value instanceof AutoPolicyDTO policy) {
+            return versionStamps.isStale(policy);
+        }
+        if (value instanceof List<?> list) {
+            for (Object element : list) {
+                if (element instanceof AutoPolicyDTO policy && versionStamps.isStale(policy)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
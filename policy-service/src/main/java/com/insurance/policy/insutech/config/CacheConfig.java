@@ -1,31 +1,61 @@
 package com.insurance.policy.insutech.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.insurance.policy.insutech.cache.PolicyNumberIndex;
+import com.insurance.policy.insutech.cache.PolicyVersionStamps;
+import com.insurance.policy.insutech.cache.VersionCheckedCache;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    /**
+     * Every region refuses policies older than their version stamp, so a load that raced
+     * a write (on this or another instance) cannot cache the old copy.
+     */
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
+    public CacheManager cacheManager(PolicyVersionStamps versionStamps) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new VersionCheckedCache(super.adaptCaffeineCache(name, cache), versionStamps);
+            }
+        };
+        cacheManager.setCaffeine(caffeineCacheBuilder());
+        cacheManager.setCacheNames(List.of(
                 "policies",          // Cache for individual policies
                 "policyNumbers",     // Cache for policy number lookups
-                "allPolicies",       // ADD THIS - Cache for getAllPolicies()
-                "filteredPolicies"   // Cache for filtered policy queries
-        );
-
-        cacheManager.setCaffeine(caffeineCacheBuilder());
+                "allPolicies"        // ADD THIS - Cache for getAllPolicies()
+        ));
+        // Filtered queries are cached by FilteredPolicyCache, which is patched per write
         return cacheManager;
     }
 
+    /**
+     * id -> policyNumber index for targeted eviction of "policies" and "policyNumbers".
+     * Sized well above both regions and expiring with them.
+     */
+    @Bean
+    public PolicyNumberIndex policyNumberIndex(CacheManager cacheManager) {
+        return new PolicyNumberIndex(
+                cacheManager.getCache("policies"),
+                cacheManager.getCache("policyNumbers"),
+                Caffeine.newBuilder()
+                        .maximumSize(10_000)
+                        .expireAfterWrite(30, TimeUnit.MINUTES)
+                        .build()
+        );
+    }
+
     Caffeine<Object, Object> caffeineCacheBuilder() {
         return Caffeine.newBuilder()
                 .initialCapacity(100)
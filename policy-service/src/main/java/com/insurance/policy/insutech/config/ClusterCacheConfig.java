@@ -0,0 +1,54 @@
+package com.insurance.policy.insutech.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.policy.insutech.cache.ClusterCacheInvalidator;
+import com.insurance.policy.insutech.cache.FilteredPolicyCache;
+import com.insurance.policy.insutech.cache.PolicyNumberIndex;
+import com.insurance.policy.insutech.cache.PolicyVersionStamps;
+import com.insurance.policy.insutech.search.PolicySearchIndex;
+import com.insurance.policy.insutech.snapshot.PolicySnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Cross-instance cache invalidation for running several policy-service replicas. Each
+ * instance keeps its local caches; writes on any instance reach the others over Redis
+ * pub/sub.
+ */
+@Configuration
+@ConditionalOnProperty(name = "policy.cache.cluster.enabled", havingValue = "true")
+public class ClusterCacheConfig {
+
+    @Bean
+    public ClusterCacheInvalidator clusterCacheInvalidator(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${policy.cache.cluster.channel:policy-cache-invalidation}") String channel,
+            @Value("${policy.cache.cluster.max-batch-size:200}") int maxBatchSize,
+            @Value("${policy.cache.cluster.patch-limit:100}") int patchLimit,
+            PolicyVersionStamps versionStamps,
+            PolicyNumberIndex policyNumberIndex,
+            FilteredPolicyCache filteredPolicyCache,
+            CacheManager cacheManager,
+            PolicySnapshot policySnapshot,
+            PolicySearchIndex policySearchIndex) {
+        return new ClusterCacheInvalidator(redisTemplate, objectMapper, channel, maxBatchSize, patchLimit,
+                versionStamps, policyNumberIndex, filteredPolicyCache, cacheManager, policySnapshot, policySearchIndex);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            ClusterCacheInvalidator invalidator) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(invalidator, new ChannelTopic(invalidator.getChannel()));
+        return container;
+    }
+}
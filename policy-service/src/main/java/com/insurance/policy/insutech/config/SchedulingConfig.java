@@ -0,0 +1,12 @@
+package com.insurance.policy.insutech.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs {@code @Scheduled} jobs, such as the outbox relay.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,14 +1,35 @@
 package com.insurance.policy.insutech.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.AutoPolicyPageDTO;
+import com.insurance.policy.insutech.dto.IngestionProgressDTO;
+import com.insurance.policy.insutech.dto.PolicyChangeFeedDTO;
+import com.insurance.policy.insutech.dto.PolicyStatsDTO;
+import com.insurance.policy.insutech.filter.PolicyStatsDimension;
+import com.insurance.policy.insutech.ingest.IngestFormat;
 import com.insurance.policy.insutech.model.AutoPolicyType;
 import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.patch.PolicyMergePatchReader;
+import com.insurance.policy.insutech.search.PolicySearchIndexer;
 import com.insurance.policy.insutech.service.AutoPolicyService;
+import com.insurance.policy.insutech.service.PolicyIngestionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.time.LocalDate;
 import java.util.List;
@@ -19,7 +40,16 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AutoPolicyController {
 
+    static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    static final int MAX_STATS_GROUPS = 1000;
+    static final int MAX_SEARCH_RESULTS = 100;
+    static final int MAX_CHANGES = 1000;
+
     private final AutoPolicyService autoPolicyService;
+    private final PolicyIngestionService policyIngestionService;
+    private final PolicyMergePatchReader policyMergePatchReader;
+    private final PolicySearchIndexer policySearchIndexer;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<AutoPolicyDTO> createPolicy(@RequestBody AutoPolicyDTO autoPolicyDTO) {
@@ -33,20 +63,76 @@ public class AutoPolicyController {
         return ResponseEntity.ok(autoPolicyService.getPolicyByPolicyNumber(policyNumber));
     }
 
-    @PostMapping("/batch")
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<List<AutoPolicyDTO>> createPolicies(@RequestBody List<AutoPolicyDTO> autoPolicyDTOs) {
         System.out.println("Received batch request with " + autoPolicyDTOs.size() + " policies");
         return ResponseEntity.ok(autoPolicyService.createPolicies(autoPolicyDTOs));
     }
 
+    /**
+     * Streaming bulk ingest of an NDJSON or CSV body. Progress is written back as one
+     * NDJSON line per committed chunk, followed by a final line with {@code done=true}.
+     */
+    @PostMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, IngestFormat.TEXT_CSV_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void ingestPolicies(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        IngestFormat format = IngestFormat.fromContentType(contentType);
+        ObjectWriter writer = objectMapper.writerFor(IngestionProgressDTO.class);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+
+        policyIngestionService.ingest(request.getInputStream(), format, progress -> {
+            try {
+                out.write(writer.writeValueAsBytes(progress));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<AutoPolicyDTO> getPolicyById(@PathVariable Long id) {
         return ResponseEntity.ok(autoPolicyService.getPolicyById(id));
     }
 
+    /**
+     * Deprecated unpaged listing, capped to the first policies by id. The {@code Link}
+     * header points at the keyset-paged {@code /page} endpoint that replaces it.
+     */
     @GetMapping
     public ResponseEntity<List<AutoPolicyDTO>> getAllPolicies() {
-        return ResponseEntity.ok(autoPolicyService.getAllPolicies());
+        return ResponseEntity.ok()
+                .header("Deprecation", "true")
+                .header(HttpHeaders.LINK, "</api/v1/policies/page>; rel=\"successor-version\"")
+                .body(autoPolicyService.getAllPolicies());
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<AutoPolicyPageDTO> getPoliciesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(autoPolicyService.getPoliciesPage(cursor, size));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPolicies() {
+        ObjectWriter writer = objectMapper.writerFor(AutoPolicyDTO.class);
+        StreamingResponseBody body = out -> autoPolicyService.streamAllPolicies(policy -> {
+            try {
+                out.write(writer.writeValueAsBytes(policy));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @PutMapping("/{id}")
@@ -54,6 +140,16 @@ public class AutoPolicyController {
         return ResponseEntity.ok(autoPolicyService.updatePolicy(id, autoPolicyDTO));
     }
 
+    /**
+     * JSON Merge Patch (RFC 7396): members present in the body are set, {@code null}
+     * members are cleared, and absent members are left unchanged. Include {@code version}
+     * to reject the patch with 409 if the policy changed since it was read.
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<AutoPolicyDTO> patchPolicy(@PathVariable Long id, @RequestBody JsonNode patch) {
+        return ResponseEntity.ok(autoPolicyService.patchPolicy(id, policyMergePatchReader.read(id, patch)));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletePolicy(@PathVariable Long id) {
         autoPolicyService.deletePolicy(id);
@@ -102,4 +198,93 @@ public class AutoPolicyController {
                 )
         );
     }
+
+    /**
+     * Free-text search, e.g. {@code q=jon toyo} finds John Smith's Toyota. Each term must
+     * match a holder name, vehicle make or model, or the policy number, exactly, as a
+     * prefix or with a typo; results are ranked by relevance.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<AutoPolicyDTO>> searchPolicies(@RequestParam String q,
+                                                              @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank() || limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(autoPolicyService.searchPolicies(q, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Rebuild the search index from the database in the background.
+     */
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<Void> rebuildSearchIndex() {
+        return policySearchIndexer.rebuildAsync()
+                ? ResponseEntity.accepted().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    /**
+     * Policy counts and premium aggregates (sum, avg, min, max, p50/p90/p99), optionally
+     * grouped by status, type, vehicleMake, userId or month of the start date. Accepts the
+     * same criteria as /filter.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<PolicyStatsDTO> getPolicyStats(
+            @RequestParam(required = false) String groupBy,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String vehicleMake,
+            @RequestParam(required = false) Double minPremium,
+            @RequestParam(required = false) Double maxPremium,
+            @RequestParam(required = false) String firstName,
+            @RequestParam(required = false) String lastName,
+            @RequestParam(required = false) Long userId
+    ) {
+        if (limit < 1 || limit > MAX_STATS_GROUPS) {
+            return ResponseEntity.badRequest().build();
+        }
+        PolicyStatsDimension dimension;
+        PolicyStatus policyStatus;
+        AutoPolicyType policyType;
+        try {
+            dimension = PolicyStatsDimension.fromParam(groupBy);
+            policyStatus = status != null ? PolicyStatus.fromCode(status) : null;
+            policyType = type != null ? AutoPolicyType.fromCode(type) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(
+                autoPolicyService.getPolicyStats(
+                        dimension, limit,
+                        startDate, endDate,
+                        policyStatus, policyType,
+                        vehicleMake, firstName, lastName,
+                        minPremium, maxPremium,
+                        userId
+                )
+        );
+    }
+
+    /**
+     * Change feed for read replicas, search indexes and rollups: committed creates,
+     * updates and deletes after sequence {@code after}, oldest first. Pass the returned
+     * {@code lastSequence} as {@code after} on the next call. Answers 410 when the
+     * changes following {@code after} have been purged; the reader must then reload.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<PolicyChangeFeedDTO> getPolicyChanges(@RequestParam(defaultValue = "0") long after,
+                                                                @RequestParam(defaultValue = "500") int limit) {
+        if (after < 0 || limit < 1 || limit > MAX_CHANGES) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(autoPolicyService.getPolicyChanges(after, limit));
+    }
 }
@@ -1,8 +1,9 @@
 package com.insurance.policy.insutech.controller;
 
 import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.insurance.policy.insutech.cache.FilteredPolicyCache;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -15,9 +16,11 @@ import java.util.Map;
 public class CacheController {
 
     private final CacheManager cacheManager;
+    private final FilteredPolicyCache filteredPolicyCache;
 
-    public CacheController(CacheManager cacheManager) {
+    public CacheController(CacheManager cacheManager, FilteredPolicyCache filteredPolicyCache) {
         this.cacheManager = cacheManager;
+        this.filteredPolicyCache = filteredPolicyCache;
     }
 
     @GetMapping("/stats")
@@ -25,21 +28,24 @@ public class CacheController {
         Map<String, Map<String, Object>> stats = new HashMap<>();
 
         cacheManager.getCacheNames().forEach(cacheName -> {
-            CaffeineCache caffeineCache = (CaffeineCache) cacheManager.getCache(cacheName);
-            if (caffeineCache != null) {
-                CacheStats cacheStats = caffeineCache.getNativeCache().stats();
-                Map<String, Object> cacheStatsMap = new HashMap<>();
-                cacheStatsMap.put("hitCount", cacheStats.hitCount());
-                cacheStatsMap.put("missCount", cacheStats.missCount());
-                cacheStatsMap.put("loadSuccessCount", cacheStats.loadSuccessCount());
-                cacheStatsMap.put("loadFailureCount", cacheStats.loadFailureCount());
-                cacheStatsMap.put("totalLoadTime", cacheStats.totalLoadTime());
-                cacheStatsMap.put("evictionCount", cacheStats.evictionCount());
-
-                stats.put(cacheName, cacheStatsMap);
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                stats.put(cacheName, toMap(nativeCache.stats()));
             }
         });
+        stats.put("filteredPolicies", toMap(filteredPolicyCache.stats()));
 
         return stats;
     }
+
+    private Map<String, Object> toMap(CacheStats cacheStats) {
+        Map<String, Object> cacheStatsMap = new HashMap<>();
+        cacheStatsMap.put("hitCount", cacheStats.hitCount());
+        cacheStatsMap.put("missCount", cacheStats.missCount());
+        cacheStatsMap.put("loadSuccessCount", cacheStats.loadSuccessCount());
+        cacheStatsMap.put("loadFailureCount", cacheStats.loadFailureCount());
+        cacheStatsMap.put("totalLoadTime", cacheStats.totalLoadTime());
+        cacheStatsMap.put("evictionCount", cacheStats.evictionCount());
+        return cacheStatsMap;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.insurance.policy.insutech.controller;
+
+import com.insurance.policy.insutech.dto.ImportJobDTO;
+import com.insurance.policy.insutech.ingest.IngestFormat;
+import com.insurance.policy.insutech.service.PolicyImportJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/api/v1/policies/import-jobs")
+@RequiredArgsConstructor
+public class PolicyImportJobController {
+
+    private final PolicyImportJobService policyImportJobService;
+
+    /**
+     * Submit an NDJSON or CSV file for background import. Responds 202 with the job;
+     * poll the {@code Location} URL for progress and row errors.
+     */
+    @PostMapping(consumes = {MediaType.APPLICATION_NDJSON_VALUE, IngestFormat.TEXT_CSV_VALUE})
+    public ResponseEntity<ImportJobDTO> submitImport(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                     HttpServletRequest request) throws IOException {
+        ImportJobDTO job = policyImportJobService.submit(request.getInputStream(),
+                IngestFormat.fromContentType(contentType));
+        URI location = URI.create("/api/v1/policies/import-jobs/" + job.getJobId());
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJobDTO> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(policyImportJobService.getJob(jobId));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ImportJobDTO>> getImportJobs() {
+        return ResponseEntity.ok(policyImportJobService.getJobs());
+    }
+}
@@ -23,4 +23,5 @@ public class AutoPolicyDTO {
     private LocalDate endDate;
     private BigDecimal premiumAmount;
     private Long userId;
+    private Long version; // optional on update: when sent, a stale version is rejected with 409
 }
@@ -0,0 +1,18 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutoPolicyPageDTO {
+    private List<AutoPolicyDTO> content;
+    private String nextCursor; // null when there are no more policies
+    private boolean hasMore;
+}
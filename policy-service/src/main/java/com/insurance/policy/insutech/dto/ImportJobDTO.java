@@ -0,0 +1,32 @@
+package com.insurance.policy.insutech.dto;
+
+import com.insurance.policy.insutech.ingest.IngestFormat;
+import com.insurance.policy.insutech.ingest.ImportJobStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Status snapshot of an asynchronous bulk import job.
+ */
+@Getter
+@Setter
+public class ImportJobDTO {
+    private String jobId;
+    private ImportJobStatus status;
+    private IngestFormat format;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private int chunks;              // chunks committed so far
+    private long received;
+    private long inserted;
+    private long duplicates;         // policy number already stored, or repeated in the file
+    private long invalid;            // missing policyNumber, userId, status or policyType
+    private long failed;             // rows in chunks whose transaction rolled back
+    private List<ImportRowErrorDTO> errors;
+    private boolean errorsTruncated; // more row errors occurred than are kept
+    private String error;            // set when the file could not be read to the end
+}
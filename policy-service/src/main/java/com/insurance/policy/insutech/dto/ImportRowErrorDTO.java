@@ -0,0 +1,16 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowErrorDTO {
+    private long record;         // 1-based position of the record in the file, header excluded
+    private String policyNumber;
+    private String reason;
+}
@@ -0,0 +1,19 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Running totals of a bulk ingestion, emitted after every chunk and once at the end.
+ */
+@Getter
+@Setter
+public class IngestionProgressDTO {
+    private int chunks;
+    private long received;
+    private long inserted;
+    private long duplicates; // policy number already stored, or repeated in the input
+    private long invalid;    // missing policyNumber, userId, status or policyType
+    private boolean done;
+    private String error;    // set when ingestion stopped early
+}
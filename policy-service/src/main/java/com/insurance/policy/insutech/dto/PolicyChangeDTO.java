@@ -0,0 +1,22 @@
+package com.insurance.policy.insutech.dto;
+
+import com.insurance.policy.insutech.event.PolicyChangedEvent.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyChangeDTO {
+    private Long sequence;               // position in the change stream; null until relayed
+    private ChangeType type;
+    private Long policyId;
+    private Long version;                // policy version after the write; null for deletes
+    private Instant occurredAt;
+    private AutoPolicyDTO policy;        // state after the write; null for deletes
+}
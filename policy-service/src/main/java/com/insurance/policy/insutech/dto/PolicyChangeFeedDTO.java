@@ -0,0 +1,18 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyChangeFeedDTO {
+    private List<PolicyChangeDTO> changes;
+    private long lastSequence;           // pass as "after" to read the next changes
+    private boolean hasMore;
+}
@@ -0,0 +1,18 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyStatsDTO {
+    private String groupBy;              // null when the stats cover all matching policies
+    private List<PolicyStatsGroupDTO> groups;
+    private boolean truncated;           // more groups matched than were returned
+}
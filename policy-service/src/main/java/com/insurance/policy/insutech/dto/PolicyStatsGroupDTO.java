@@ -0,0 +1,24 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregates of one group of policies. Premium figures ignore policies without a premium
+ * and are null when no policy in the group has one.
+ */
+@Getter
+@Setter
+public class PolicyStatsGroupDTO {
+    private String key;                  // status/type code, vehicle make, user id or yyyy-MM
+    private long count;
+    private BigDecimal sumPremium;
+    private BigDecimal avgPremium;
+    private BigDecimal minPremium;
+    private BigDecimal maxPremium;
+    private BigDecimal p50Premium;
+    private BigDecimal p90Premium;
+    private BigDecimal p99Premium;
+}
@@ -0,0 +1,16 @@
+package com.insurance.policy.insutech.event;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+
+import java.util.List;
+
+/**
+ * Published by bulk ingestion inside the transaction of each chunk of new policies;
+ * listeners other than the outbox act once the chunk commits. Bulk writes
+ * bypass {@link PolicyChangedEvent} so the list caches are not patched row by row;
+ * in-memory copies of the book that cannot simply be flushed listen for this instead.
+ *
+ * @param policies the inserted policies, with their generated ids
+ */
+public record PoliciesImportedEvent(List<AutoPolicyDTO> policies) {
+}
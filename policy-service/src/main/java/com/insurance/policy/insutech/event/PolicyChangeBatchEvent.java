@@ -0,0 +1,15 @@
+package com.insurance.policy.insutech.event;
+
+import com.insurance.policy.insutech.dto.PolicyChangeDTO;
+
+import java.util.List;
+
+/**
+ * A batch of committed policy changes relayed from the outbox, in sequence order. Only
+ * published in-process when {@code policy.outbox.publisher=in-memory}; other publishers
+ * send the same batches to an external stream.
+ *
+ * @param changes consecutive changes, oldest first
+ */
+public record PolicyChangeBatchEvent(List<PolicyChangeDTO> changes) {
+}
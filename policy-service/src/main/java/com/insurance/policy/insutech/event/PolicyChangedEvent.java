@@ -0,0 +1,32 @@
+package com.insurance.policy.insutech.event;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+
+/**
+ * Published by the policy service inside the transaction that creates, updates or
+ * deletes a policy; listeners other than the outbox act once it commits.
+ *
+ * @param type     kind of write
+ * @param policyId id of the changed policy
+ * @param policy   state after the write, or null when the policy was deleted
+ */
+public record PolicyChangedEvent(ChangeType type, Long policyId, AutoPolicyDTO policy) {
+
+    public enum ChangeType { CREATED, UPDATED, DELETED }
+
+    public static PolicyChangedEvent created(AutoPolicyDTO policy) {
+        return new PolicyChangedEvent(ChangeType.CREATED, policy.getId(), policy);
+    }
+
+    public static PolicyChangedEvent updated(AutoPolicyDTO policy) {
+        return new PolicyChangedEvent(ChangeType.UPDATED, policy.getId(), policy);
+    }
+
+    public static PolicyChangedEvent deleted(Long policyId) {
+        return new PolicyChangedEvent(ChangeType.DELETED, policyId, null);
+    }
+
+    public boolean isDelete() {
+        return type == ChangeType.DELETED;
+    }
+}
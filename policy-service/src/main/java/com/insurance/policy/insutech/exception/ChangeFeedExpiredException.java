@@ -0,0 +1,7 @@
+package com.insurance.policy.insutech.exception;
+
+public class ChangeFeedExpiredException extends RuntimeException {
+    public ChangeFeedExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.insurance.policy.insutech.exception;
+
+public class ImportJobNotFoundException extends RuntimeException {
+    public ImportJobNotFoundException(String message) {
+        super(message);
+    }
+}
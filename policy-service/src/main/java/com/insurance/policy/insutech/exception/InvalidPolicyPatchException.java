@@ -0,0 +1,7 @@
+package com.insurance.policy.insutech.exception;
+
+public class InvalidPolicyPatchException extends RuntimeException {
+    public InvalidPolicyPatchException(String message) {
+        super(message);
+    }
+}
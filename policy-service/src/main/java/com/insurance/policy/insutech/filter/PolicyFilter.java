@@ -0,0 +1,86 @@
+package com.insurance.policy.insutech.filter;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Locale;
+
+/**
+ * Canonical form of the /filter parameters. Text criteria are trimmed and lower-cased,
+ * blanks become null and premiums become BigDecimal, so equivalent requests compare
+ * equal and can share cache entries and query plans.
+ */
+public record PolicyFilter(LocalDate startDate,
+                           LocalDate endDate,
+                           PolicyStatus status,
+                           AutoPolicyType type,
+                           String vehicleMake,
+                           String firstName,
+                           String lastName,
+                           BigDecimal minPremium,
+                           BigDecimal maxPremium,
+                           Long userId) {
+
+    public static PolicyFilter of(LocalDate startDate,
+                                  LocalDate endDate,
+                                  PolicyStatus status,
+                                  AutoPolicyType type,
+                                  String vehicleMake,
+                                  String firstName,
+                                  String lastName,
+                                  Double minPremium,
+                                  Double maxPremium,
+                                  Long userId) {
+        return new PolicyFilter(startDate, endDate, status, type,
+                normalize(vehicleMake), normalize(firstName), normalize(lastName),
+                minPremium != null ? BigDecimal.valueOf(minPremium) : null,
+                maxPremium != null ? BigDecimal.valueOf(maxPremium) : null,
+                userId);
+    }
+
+    /**
+     * The set of criteria present; filters with the same shape share one compiled plan.
+     */
+    public EnumSet<PolicyFilterField> shape() {
+        EnumSet<PolicyFilterField> fields = EnumSet.noneOf(PolicyFilterField.class);
+        for (PolicyFilterField field : PolicyFilterField.values()) {
+            if (field.valueOf(this) != null) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Evaluate this filter against a policy in memory, with the same semantics as the
+     * compiled query: a missing value never satisfies a criterion on that field.
+     */
+    public boolean matches(AutoPolicyDTO policy) {
+        return (startDate == null || policy.getStartDate() != null && !policy.getStartDate().isBefore(startDate))
+                && (endDate == null || policy.getEndDate() != null && !policy.getEndDate().isAfter(endDate))
+                && (status == null || status == policy.getStatus())
+                && (type == null || type == policy.getPolicyType())
+                && contains(policy.getVehicleMake(), vehicleMake)
+                && contains(policy.getFirstName(), firstName)
+                && contains(policy.getLastName(), lastName)
+                && (minPremium == null || policy.getPremiumAmount() != null && policy.getPremiumAmount().compareTo(minPremium) >= 0)
+                && (maxPremium == null || policy.getPremiumAmount() != null && policy.getPremiumAmount().compareTo(maxPremium) <= 0)
+                && (userId == null || userId.equals(policy.getUserId()));
+    }
+
+    private static boolean contains(String value, String needle) {
+        return needle == null || value != null && value.toLowerCase(Locale.ROOT).contains(needle);
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,75 @@
+package com.insurance.policy.insutech.filter;
+
+import java.util.function.Function;
+
+/**
+ * One criterion of a {@link PolicyFilter}, with its entity property and comparison.
+ * Substring criteria compare against {@code lower(column)} so they can be served by
+ * the trigram indexes in schema-postgresql.sql.
+ */
+public enum PolicyFilterField {
+    START_DATE("startDate", Operator.GREATER_OR_EQUAL, PolicyFilter::startDate),
+    END_DATE("endDate", Operator.LESS_OR_EQUAL, PolicyFilter::endDate),
+    STATUS("status", Operator.EQUAL, PolicyFilter::status),
+    TYPE("policyType", Operator.EQUAL, PolicyFilter::type),
+    VEHICLE_MAKE("vehicleMake", Operator.CONTAINS, PolicyFilter::vehicleMake),
+    FIRST_NAME("firstName", Operator.CONTAINS, PolicyFilter::firstName),
+    LAST_NAME("lastName", Operator.CONTAINS, PolicyFilter::lastName),
+    MIN_PREMIUM("premiumAmount", Operator.GREATER_OR_EQUAL, PolicyFilter::minPremium),
+    MAX_PREMIUM("premiumAmount", Operator.LESS_OR_EQUAL, PolicyFilter::maxPremium),
+    USER_ID("userId", Operator.EQUAL, PolicyFilter::userId);
+
+    enum Operator { EQUAL, GREATER_OR_EQUAL, LESS_OR_EQUAL, CONTAINS }
+
+    private final String property;
+    private final Operator operator;
+    private final Function<PolicyFilter, Object> accessor;
+
+    PolicyFilterField(String property, Operator operator, Function<PolicyFilter, Object> accessor) {
+        this.property = property;
+        this.operator = operator;
+        this.accessor = accessor;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    Operator operator() {
+        return operator;
+    }
+
+    /** Named parameter used for this criterion in compiled queries. */
+    public String parameter() {
+        return name().toLowerCase();
+    }
+
+    Object valueOf(PolicyFilter filter) {
+        return accessor.apply(filter);
+    }
+
+    /**
+     * Render this criterion against the given property expression, e.g. {@code p.startDate}.
+     */
+    String render(String expression) {
+        return switch (operator) {
+            case EQUAL -> expression + " = :" + parameter();
+            case GREATER_OR_EQUAL -> expression + " >= :" + parameter();
+            case LESS_OR_EQUAL -> expression + " <= :" + parameter();
+            case CONTAINS -> "lower(" + expression + ") like :" + parameter() + " escape '\\'";
+        };
+    }
+
+    /** Value to bind for this criterion; substring criteria are wrapped and escaped. */
+    Object bindValue(PolicyFilter filter) {
+        Object value = valueOf(filter);
+        if (operator == Operator.CONTAINS) {
+            return "%" + escapeLike((String) value) + "%";
+        }
+        return value;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
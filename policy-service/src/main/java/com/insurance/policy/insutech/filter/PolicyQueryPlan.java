@@ -0,0 +1,90 @@
+package com.insurance.policy.insutech.filter;
+
+import jakarta.persistence.Query;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A compiled filter query for one filter shape. The query text is identical for every
+ * filter with that shape, so Hibernate's query plan cache and the database's prepared
+ * statement cache are reused; only the parameter values change between executions.
+ */
+public final class PolicyQueryPlan {
+
+    private final Set<PolicyFilterField> fields;
+    private final String whereClause;
+    private final String jpql;
+    private final Map<PolicyStatsDimension, String> statsJpql = new EnumMap<>(PolicyStatsDimension.class);
+
+    PolicyQueryPlan(EnumSet<PolicyFilterField> fields) {
+        this.fields = EnumSet.copyOf(fields);
+        this.whereClause = where();
+        this.jpql = "select p from AutoPolicy p" + whereClause;
+        for (PolicyStatsDimension dimension : PolicyStatsDimension.values()) {
+            statsJpql.put(dimension, stats(dimension));
+        }
+    }
+
+    public String jpql() {
+        return jpql;
+    }
+
+    /**
+     * Aggregate query over the policies this plan selects. Each row holds the group key
+     * (omitted for {@link PolicyStatsDimension#NONE}, which returns a single row), the
+     * policy count, then sum, avg, min, max and the 50th/90th/99th percentiles of the premium.
+     */
+    public String statsJpql(PolicyStatsDimension dimension) {
+        return statsJpql.get(dimension);
+    }
+
+    /** The {@code where} clause of this plan in JPQL, against alias {@code p}. */
+    public String whereClause() {
+        return whereClause;
+    }
+
+    /** Bind the filter's values to a query created from this plan. */
+    public <Q extends Query> Q bind(Q query, PolicyFilter filter) {
+        for (PolicyFilterField field : fields) {
+            query.setParameter(field.parameter(), field.bindValue(filter));
+        }
+        return query;
+    }
+
+    private String stats(PolicyStatsDimension dimension) {
+        StringBuilder sb = new StringBuilder("select ");
+        if (dimension.expression() != null) {
+            sb.append(dimension.expression()).append(", ");
+        }
+        sb.append("count(p), sum(p.premiumAmount), avg(p.premiumAmount)")
+                .append(", min(p.premiumAmount), max(p.premiumAmount)");
+        for (String fraction : new String[]{"0.5", "0.9", "0.99"}) {
+            sb.append(", percentile_cont(").append(fraction).append(") within group (order by p.premiumAmount)");
+        }
+        sb.append(" from AutoPolicy p").append(whereClause);
+        if (dimension.expression() != null) {
+            sb.append(" group by ").append(dimension.expression())
+                    .append(" order by ").append(dimension.orderBy());
+        }
+        return sb.toString();
+    }
+
+    private String where() {
+        if (fields.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(" where ");
+        boolean first = true;
+        for (PolicyFilterField field : fields) {
+            if (!first) {
+                sb.append(" and ");
+            }
+            sb.append(field.render("p." + field.property()));
+            first = false;
+        }
+        return sb.toString();
+    }
+}
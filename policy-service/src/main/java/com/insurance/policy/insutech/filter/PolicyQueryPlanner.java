@@ -0,0 +1,21 @@
+package com.insurance.policy.insutech.filter;
+
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles {@link PolicyFilter}s into reusable {@link PolicyQueryPlan}s, one per shape.
+ * There are at most 2^10 shapes, so plans are kept for the lifetime of the application.
+ */
+@Component
+public class PolicyQueryPlanner {
+
+    private final Map<EnumSet<PolicyFilterField>, PolicyQueryPlan> plans = new ConcurrentHashMap<>();
+
+    public PolicyQueryPlan plan(PolicyFilter filter) {
+        return plans.computeIfAbsent(filter.shape(), PolicyQueryPlan::new);
+    }
+}
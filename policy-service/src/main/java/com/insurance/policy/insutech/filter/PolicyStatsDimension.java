@@ -0,0 +1,74 @@
+package com.insurance.policy.insutech.filter;
+
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+
+/**
+ * What {@code /stats} groups policies by, with the JPQL expression of the group key.
+ * Categorical groups are ordered by size, months chronologically.
+ */
+public enum PolicyStatsDimension {
+    NONE(null, null, null),
+    STATUS("status", "p.status", "count(p) desc, p.status"),
+    TYPE("type", "p.policyType", "count(p) desc, p.policyType"),
+    VEHICLE_MAKE("vehicleMake", "lower(p.vehicleMake)", "count(p) desc, lower(p.vehicleMake)"),
+    USER_ID("userId", "p.userId", "count(p) desc, p.userId"),
+    MONTH("month", "year(p.startDate) * 100 + month(p.startDate)", "year(p.startDate) * 100 + month(p.startDate)");
+
+    private final String param;
+    private final String expression;
+    private final String orderBy;
+
+    PolicyStatsDimension(String param, String expression, String orderBy) {
+        this.param = param;
+        this.expression = expression;
+        this.orderBy = orderBy;
+    }
+
+    /**
+     * Parse a {@code groupBy} request parameter such as {@code status} or {@code vehicleMake}.
+     */
+    public static PolicyStatsDimension fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return NONE;
+        }
+        for (PolicyStatsDimension dimension : values()) {
+            if (dimension.param != null && dimension.param.equalsIgnoreCase(value.trim())) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException("Invalid groupBy: " + value);
+    }
+
+    /** The {@code groupBy} parameter value naming this dimension; null for {@link #NONE}. */
+    public String param() {
+        return param;
+    }
+
+    String expression() {
+        return expression;
+    }
+
+    String orderBy() {
+        return orderBy;
+    }
+
+    /**
+     * The group key as returned by the API: status and type by their codes, months as
+     * {@code yyyy-MM}.
+     */
+    public String label(Object key) {
+        if (key == null) {
+            return null;
+        }
+        return switch (this) {
+            case STATUS -> ((PolicyStatus) key).getCode();
+            case TYPE -> ((AutoPolicyType) key).getCode();
+            case MONTH -> {
+                int month = ((Number) key).intValue();
+                yield String.format("%04d-%02d", month / 100, month % 100);
+            }
+            default -> key.toString();
+        };
+    }
+}
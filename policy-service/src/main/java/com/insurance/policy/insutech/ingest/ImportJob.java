@@ -0,0 +1,125 @@
+package com.insurance.policy.insutech.ingest;
+
+import com.insurance.policy.insutech.dto.ImportJobDTO;
+import com.insurance.policy.insutech.dto.ImportRowErrorDTO;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mutable state of one import job. Counters are updated concurrently by the chunk
+ * writers; {@link #toDTO()} takes a point-in-time snapshot for the status API.
+ * Row errors are kept up to a fixed cap so a bad file cannot exhaust memory.
+ */
+public class ImportJob {
+
+    private final String id;
+    private final IngestFormat format;
+    private final int maxErrors;
+    private final Instant submittedAt = Instant.now();
+
+    private volatile ImportJobStatus status = ImportJobStatus.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    private final AtomicInteger chunks = new AtomicInteger();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong inserted = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong invalid = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<ImportRowErrorDTO> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    public ImportJob(String id, IngestFormat format, int maxErrors) {
+        this.id = id;
+        this.format = format;
+        this.maxErrors = maxErrors;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public IngestFormat getFormat() {
+        return format;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void start() {
+        startedAt = Instant.now();
+        status = ImportJobStatus.RUNNING;
+    }
+
+    /**
+     * Mark the job finished: {@code FAILED} if {@link #fail} was called, else {@code COMPLETED}.
+     */
+    public void finish() {
+        status = error != null ? ImportJobStatus.FAILED : ImportJobStatus.COMPLETED;
+        finishedAt = Instant.now();
+    }
+
+    public void fail(String message) {
+        error = message != null ? message : "Import failed";
+    }
+
+    public void received() {
+        received.incrementAndGet();
+    }
+
+    public void invalid(long record, String policyNumber, String reason) {
+        invalid.incrementAndGet();
+        addError(record, policyNumber, reason);
+    }
+
+    public void duplicate(long record, String policyNumber, String reason) {
+        duplicates.incrementAndGet();
+        addError(record, policyNumber, reason);
+    }
+
+    public void chunkCommitted(int insertedRows) {
+        chunks.incrementAndGet();
+        inserted.addAndGet(insertedRows);
+    }
+
+    public void chunkFailed(long firstRecord, long lastRecord, int rows, String message) {
+        failed.addAndGet(rows);
+        addError(firstRecord, null,
+                "Records " + firstRecord + "-" + lastRecord + " rolled back: " + message);
+    }
+
+    private synchronized void addError(long record, String policyNumber, String reason) {
+        if (errors.size() < maxErrors) {
+            errors.add(new ImportRowErrorDTO(record, policyNumber, reason));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    public synchronized ImportJobDTO toDTO() {
+        ImportJobDTO dto = new ImportJobDTO();
+        dto.setJobId(id);
+        dto.setStatus(status);
+        dto.setFormat(format);
+        dto.setSubmittedAt(submittedAt);
+        dto.setStartedAt(startedAt);
+        dto.setFinishedAt(finishedAt);
+        dto.setChunks(chunks.get());
+        dto.setReceived(received.get());
+        dto.setInserted(inserted.get());
+        dto.setDuplicates(duplicates.get());
+        dto.setInvalid(invalid.get());
+        dto.setFailed(failed.get());
+        dto.setErrors(List.copyOf(errors));
+        dto.setErrorsTruncated(errorsTruncated);
+        dto.setError(error);
+        return dto;
+    }
+}
@@ -0,0 +1,8 @@
+package com.insurance.policy.insutech.ingest;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,24 @@
+package com.insurance.policy.insutech.ingest;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Request body formats accepted by bulk ingestion.
+ */
+public enum IngestFormat {
+    NDJSON,
+    CSV;
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    public static IngestFormat fromContentType(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        if (MediaType.APPLICATION_NDJSON.includes(mediaType)) {
+            return NDJSON;
+        }
+        if (MediaType.parseMediaType(TEXT_CSV_VALUE).includes(mediaType)) {
+            return CSV;
+        }
+        throw new IllegalArgumentException("Unsupported ingest content type: " + contentType);
+    }
+}
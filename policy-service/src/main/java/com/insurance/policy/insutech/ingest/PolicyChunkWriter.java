@@ -0,0 +1,114 @@
+package com.insurance.policy.insutech.ingest;
+
+import com.insurance.policy.insutech.cache.FilteredPolicyCache;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.event.PoliciesImportedEvent;
+import com.insurance.policy.insutech.repository.AutoPolicyBatchWriter;
+import com.insurance.policy.insutech.repository.AutoPolicyRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes one chunk of validated, de-duplicated policies: a single query finds policy
+ * numbers that are already stored and the rest go out as one JDBC batch, all in the
+ * chunk's own transaction. Safe to call from several threads at once.
+ *
+ * <p>Chunk writes leave the list caches alone; callers invalidate them once with
+ * {@link #invalidateListCaches()} when the whole bulk operation is over. Each chunk is
+ * announced with a {@link PoliciesImportedEvent} inside its transaction, so the outbox
+ * records it atomically; other listeners act once the chunk commits.
+ */
+@Component
+public class PolicyChunkWriter {
+
+    private final AutoPolicyRepository autoPolicyRepository;
+    private final AutoPolicyBatchWriter batchWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final FilteredPolicyCache filteredPolicyCache;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PolicyChunkWriter(AutoPolicyRepository autoPolicyRepository,
+                             AutoPolicyBatchWriter batchWriter,
+                             TransactionTemplate transactionTemplate,
+                             FilteredPolicyCache filteredPolicyCache,
+                             CacheManager cacheManager,
+                             ApplicationEventPublisher eventPublisher) {
+        this.autoPolicyRepository = autoPolicyRepository;
+        this.batchWriter = batchWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.filteredPolicyCache = filteredPolicyCache;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * @param candidates complete policies with distinct policy numbers
+     * @return rows inserted and the policy numbers skipped because they already exist
+     */
+    public ChunkResult write(List<AutoPolicyDTO> candidates) {
+        if (candidates.isEmpty()) {
+            return new ChunkResult(0, Set.of());
+        }
+        try {
+            return insertNew(candidates);
+        } catch (DuplicateKeyException e) {
+            // A concurrent writer took a policy number after our check; re-check once
+            return insertNew(candidates);
+        }
+    }
+
+    public void invalidateListCaches() {
+        filteredPolicyCache.invalidateAll();
+        Cache allPolicies = cacheManager.getCache("allPolicies");
+        if (allPolicies != null) {
+            allPolicies.clear();
+        }
+    }
+
+    /**
+     * @return why the policy cannot be ingested, or {@code null} if it is complete
+     */
+    public static String invalidReason(AutoPolicyDTO policy) {
+        if (policy.getPolicyNumber() == null || policy.getPolicyNumber().isBlank()) {
+            return "policyNumber is required";
+        }
+        if (policy.getUserId() == null) {
+            return "userId is required";
+        }
+        if (policy.getStatus() == null) {
+            return "status is required";
+        }
+        if (policy.getPolicyType() == null) {
+            return "policyType is required";
+        }
+        return null;
+    }
+
+    private ChunkResult insertNew(List<AutoPolicyDTO> candidates) {
+        return transactionTemplate.execute(status -> {
+            Set<String> existing = autoPolicyRepository.findExistingPolicyNumbers(
+                    candidates.stream().map(AutoPolicyDTO::getPolicyNumber).toList());
+            List<AutoPolicyDTO> fresh = new ArrayList<>(candidates.size());
+            candidates.stream()
+                    .filter(policy -> !existing.contains(policy.getPolicyNumber()))
+                    .forEach(fresh::add);
+            int inserted = batchWriter.insertAll(fresh);
+            if (!fresh.isEmpty()) {
+                eventPublisher.publishEvent(new PoliciesImportedEvent(List.copyOf(fresh)));
+            }
+            return new ChunkResult(inserted, existing);
+        });
+    }
+
+    public record ChunkResult(int inserted, Set<String> existing) {
+    }
+}
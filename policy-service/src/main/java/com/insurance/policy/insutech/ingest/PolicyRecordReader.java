@@ -0,0 +1,37 @@
+package com.insurance.policy.insutech.ingest;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Opens an incremental reader over an NDJSON or CSV body. Records are parsed one at a
+ * time as the iterator advances, so memory use does not depend on the body size.
+ * CSV bodies need a header row naming the {@link AutoPolicyDTO} properties.
+ */
+@Component
+public class PolicyRecordReader {
+
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+
+    public PolicyRecordReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.csvMapper = CsvMapper.builder().findAndAddModules().build();
+    }
+
+    public MappingIterator<AutoPolicyDTO> open(InputStream input, IngestFormat format) throws IOException {
+        return switch (format) {
+            case NDJSON -> objectMapper.readerFor(AutoPolicyDTO.class).readValues(input);
+            case CSV -> csvMapper.readerFor(AutoPolicyDTO.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(input);
+        };
+    }
+}
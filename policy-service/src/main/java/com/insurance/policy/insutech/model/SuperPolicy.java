@@ -13,10 +13,19 @@ import java.time.LocalDate;
 @MappedSuperclass
 public abstract class SuperPolicy implements Cloneable {
 
+    public static final String ID_SEQUENCE = "policy_id_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Sequence ids (pooled-lo, 50 per round trip) keep JDBC insert batching available
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
+    // Optimistic lock; single-statement updates check and bump it in the WHERE/SET clauses
+    @Version
+    private Long version;
+
     @Column(unique = true, nullable = false)
     private String policyNumber;
     @Column(name = "user_id", nullable = false)
@@ -0,0 +1,27 @@
+package com.insurance.policy.insutech.outbox;
+
+import com.insurance.policy.insutech.dto.PolicyChangeDTO;
+import com.insurance.policy.insutech.event.PolicyChangeBatchEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes each batch as a {@link PolicyChangeBatchEvent} to listeners in this process,
+ * for single-instance and local setups without a broker.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "policy.outbox.publisher", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryPolicyChangePublisher implements PolicyChangePublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<PolicyChangeDTO> changes) {
+        eventPublisher.publishEvent(new PolicyChangeBatchEvent(List.copyOf(changes)));
+    }
+}
@@ -0,0 +1,22 @@
+package com.insurance.policy.insutech.outbox;
+
+import com.insurance.policy.insutech.dto.PolicyChangeDTO;
+
+import java.util.List;
+
+/**
+ * Delivers relayed outbox batches to consumers. Selected with
+ * {@code policy.outbox.publisher}: {@code in-memory} (default) or {@code redis-stream}.
+ *
+ * <p>Delivery is at least once: a batch whose relay transaction fails after publishing
+ * is published again. Consumers should ignore a change whose version is not newer than
+ * the one they hold.
+ */
+public interface PolicyChangePublisher {
+
+    /**
+     * @param changes consecutive changes with their sequences assigned, oldest first
+     * @throws RuntimeException if the batch was not delivered; it stays in the outbox and is retried
+     */
+    void publish(List<PolicyChangeDTO> changes);
+}
@@ -0,0 +1,155 @@
+package com.insurance.policy.insutech.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.PolicyChangeDTO;
+import com.insurance.policy.insutech.event.PolicyChangedEvent.ChangeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * JDBC access to the {@code policy_outbox} table (see schema-postgresql.sql).
+ *
+ * <p>Rows are appended inside the transaction of the policy write they describe and
+ * carry no sequence until {@link PolicyOutboxRelay} publishes them. The relay numbers
+ * rows while holding a transaction-scoped advisory lock, so sequences are assigned and
+ * committed in order and readers of {@link #findPublishedAfter} never skip a change.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PolicyOutbox {
+
+    // Arbitrary constant shared by every instance; only one of them relays at a time
+    static final long RELAY_LOCK_KEY = 0x706f6c6f7574L;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO policy_outbox (policy_id, change_type, policy_version, payload, created_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private static final String SELECT_COLUMNS =
+            "SELECT id, published_seq, change_type, policy_id, policy_version, created_at, payload FROM policy_outbox ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Insert one row per change with a single JDBC batch. Must run in the transaction of
+     * the write the changes describe.
+     */
+    public void append(List<PolicyChangeDTO> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, changes, changes.size(), (ps, change) -> {
+            ps.setLong(1, change.getPolicyId());
+            ps.setString(2, change.getType().name());
+            ps.setObject(3, change.getVersion());
+            ps.setString(4, change.getPolicy() != null ? toJson(change.getPolicy()) : null);
+            ps.setObject(5, OffsetDateTime.ofInstant(change.getOccurredAt(), ZoneOffset.UTC));
+        });
+    }
+
+    /**
+     * @return true if this transaction may relay; the lock is released when it ends
+     */
+    public boolean tryLockRelay() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, RELAY_LOCK_KEY));
+    }
+
+    /**
+     * @return the oldest unpublished changes, in the order they were written
+     */
+    public List<Pending> findUnpublished(int limit) {
+        return jdbcTemplate.query(SELECT_COLUMNS + "WHERE published_seq IS NULL ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new Pending(rs.getLong("id"), changeMapper().mapRow(rs, rowNum)), limit);
+    }
+
+    /** Highest sequence published so far, or 0 if none has been. */
+    public long lastSequence() {
+        Long last = jdbcTemplate.queryForObject("SELECT MAX(published_seq) FROM policy_outbox", Long.class);
+        return last != null ? last : 0;
+    }
+
+    /** Lowest sequence still retained, or null if none is. */
+    public Long firstSequence() {
+        return jdbcTemplate.queryForObject("SELECT MIN(published_seq) FROM policy_outbox", Long.class);
+    }
+
+    /**
+     * Record the sequence each pending row was published under.
+     */
+    public void markPublished(List<Pending> published, Instant publishedAt) {
+        OffsetDateTime at = OffsetDateTime.ofInstant(publishedAt, ZoneOffset.UTC);
+        jdbcTemplate.batchUpdate("UPDATE policy_outbox SET published_seq = ?, published_at = ? WHERE id = ?",
+                published, published.size(), (ps, pending) -> {
+                    ps.setLong(1, pending.change().getSequence());
+                    ps.setObject(2, at);
+                    ps.setLong(3, pending.id());
+                });
+    }
+
+    /**
+     * @return published changes with a sequence above {@code after}, oldest first
+     */
+    public List<PolicyChangeDTO> findPublishedAfter(long after, int limit) {
+        return jdbcTemplate.query(SELECT_COLUMNS + "WHERE published_seq > ? ORDER BY published_seq LIMIT ?",
+                changeMapper(), after, limit);
+    }
+
+    /**
+     * Delete changes published before the cutoff. The newest published change is always
+     * kept so sequences continue from it.
+     */
+    public int purgePublishedBefore(Instant cutoff) {
+        return jdbcTemplate.update("""
+                DELETE FROM policy_outbox
+                WHERE published_at < ?
+                  AND published_seq < (SELECT MAX(published_seq) FROM policy_outbox)
+                """, OffsetDateTime.ofInstant(cutoff, ZoneOffset.UTC));
+    }
+
+    private RowMapper<PolicyChangeDTO> changeMapper() {
+        return (rs, rowNum) -> {
+            String payload = rs.getString("payload");
+            return new PolicyChangeDTO(
+                    rs.getObject("published_seq", Long.class),
+                    ChangeType.valueOf(rs.getString("change_type")),
+                    rs.getLong("policy_id"),
+                    rs.getObject("policy_version", Long.class),
+                    rs.getObject("created_at", OffsetDateTime.class).toInstant(),
+                    payload != null ? fromJson(payload) : null);
+        };
+    }
+
+    private String toJson(AutoPolicyDTO policy) {
+        try {
+            return objectMapper.writeValueAsString(policy);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize policy " + policy.getId(), e);
+        }
+    }
+
+    private AutoPolicyDTO fromJson(String payload) {
+        try {
+            return objectMapper.readValue(payload, AutoPolicyDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read outbox payload", e);
+        }
+    }
+
+    /**
+     * An unpublished row: its primary key and the change it records.
+     */
+    public record Pending(long id, PolicyChangeDTO change) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.insurance.policy.insutech.outbox;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.PolicyChangeDTO;
+import com.insurance.policy.insutech.event.PoliciesImportedEvent;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import com.insurance.policy.insutech.event.PolicyChangedEvent.ChangeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Appends every policy write to the outbox just before the writing transaction commits,
+ * so the write and its change row commit or roll back together. A failed append fails
+ * the write.
+ */
+@Component
+@RequiredArgsConstructor
+public class PolicyOutboxRecorder {
+
+    private final PolicyOutbox outbox;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        AutoPolicyDTO policy = event.policy();
+        outbox.append(List.of(new PolicyChangeDTO(null, event.type(), event.policyId(),
+                policy != null ? policy.getVersion() : null, Instant.now(), policy)));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onPoliciesImported(PoliciesImportedEvent event) {
+        Instant now = Instant.now();
+        outbox.append(event.policies().stream()
+                .map(policy -> new PolicyChangeDTO(null, ChangeType.CREATED, policy.getId(),
+                        policy.getVersion(), now, policy))
+                .toList());
+    }
+}
@@ -0,0 +1,89 @@
+package com.insurance.policy.insutech.outbox;
+
+import com.insurance.policy.insutech.dto.PolicyChangeDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves committed outbox rows to the {@link PolicyChangePublisher} in batches.
+ *
+ * <p>Each batch is one transaction: take the relay lock, read the oldest unpublished
+ * rows, number them after the last published sequence, publish, and mark them
+ * published. If publishing fails the transaction rolls back and the rows are picked up
+ * again on the next poll. With several instances only the one holding the lock relays;
+ * the others skip the poll.
+ */
+@Slf4j
+@Component
+public class PolicyOutboxRelay {
+
+    private final PolicyOutbox outbox;
+    private final PolicyChangePublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+
+    public PolicyOutboxRelay(PolicyOutbox outbox,
+                             PolicyChangePublisher publisher,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${policy.outbox.batch-size:500}") int batchSize,
+                             @Value("${policy.outbox.retention:7d}") Duration retention) {
+        this.outbox = outbox;
+        this.publisher = publisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    /**
+     * Publish batches until the outbox is drained or a batch fails.
+     *
+     * @return number of changes published
+     */
+    @Scheduled(fixedDelayString = "${policy.outbox.poll-interval:500ms}")
+    public int relay() {
+        int published = 0;
+        try {
+            int batch;
+            do {
+                batch = transactionTemplate.execute(status -> relayBatch());
+                published += batch;
+            } while (batch == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Could not relay policy changes; retrying on the next poll", e);
+        }
+        return published;
+    }
+
+    @Scheduled(fixedDelayString = "${policy.outbox.purge-interval:1h}")
+    public void purge() {
+        int purged = outbox.purgePublishedBefore(Instant.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} published policy changes older than {}", purged, retention);
+        }
+    }
+
+    private int relayBatch() {
+        if (!outbox.tryLockRelay()) {
+            return 0; // another instance is relaying
+        }
+        List<PolicyOutbox.Pending> pending = outbox.findUnpublished(batchSize);
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        long sequence = outbox.lastSequence();
+        for (PolicyOutbox.Pending row : pending) {
+            row.change().setSequence(++sequence);
+        }
+        publisher.publish(pending.stream().map(PolicyOutbox.Pending::change).toList());
+        outbox.markPublished(pending, Instant.now());
+        return pending.size();
+    }
+}
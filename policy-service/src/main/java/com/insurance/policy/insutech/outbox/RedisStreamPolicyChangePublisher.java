@@ -0,0 +1,58 @@
+package com.insurance.policy.insutech.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.policy.insutech.dto.PolicyChangeDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends each batch to a Redis stream as one entry, so a consumer reads a whole batch
+ * per record. Fields: {@code first} and {@code last} (the sequence range) and
+ * {@code changes} (a JSON array of {@link PolicyChangeDTO}).
+ *
+ * <p>The stream is trimmed to about {@code policy.outbox.stream-max-length} entries.
+ * Consumers that fall further behind, or start from scratch, catch up from
+ * {@code GET /api/v1/policies/changes} and continue on the stream from the last
+ * sequence they applied.
+ */
+@Component
+@ConditionalOnProperty(name = "policy.outbox.publisher", havingValue = "redis-stream")
+public class RedisStreamPolicyChangePublisher implements PolicyChangePublisher {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String streamKey;
+    private final long maxLength;
+
+    public RedisStreamPolicyChangePublisher(StringRedisTemplate redisTemplate,
+                                            ObjectMapper objectMapper,
+                                            @Value("${policy.outbox.stream-key:policy:changes}") String streamKey,
+                                            @Value("${policy.outbox.stream-max-length:10000}") long maxLength) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.streamKey = streamKey;
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public void publish(List<PolicyChangeDTO> changes) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(changes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize policy changes", e);
+        }
+        Map<String, String> entry = Map.of(
+                "first", changes.get(0).getSequence().toString(),
+                "last", changes.get(changes.size() - 1).getSequence().toString(),
+                "changes", json);
+        redisTemplate.opsForStream().add(streamKey, entry, XAddOptions.maxlen(maxLength).approximateTrimming(true));
+    }
+}
@@ -0,0 +1,17 @@
+package com.insurance.policy.insutech.patch;
+
+import java.util.Map;
+
+/**
+ * A parsed JSON Merge Patch (RFC 7396) for one policy.
+ *
+ * @param properties policy properties named in the patch, with their new values; a
+ *                   {@code null} value clears the column
+ * @param version    version the client last read, or null to update unconditionally
+ */
+public record PolicyMergePatch(Map<String, Object> properties, Long version) {
+
+    public boolean isEmpty() {
+        return properties.isEmpty();
+    }
+}
@@ -0,0 +1,96 @@
+package com.insurance.policy.insutech.patch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.policy.insutech.exception.InvalidPolicyPatchException;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns a merge-patch document into typed property values. Values are read with the
+ * application's ObjectMapper, so they accept exactly what the same fields accept in an
+ * {@code AutoPolicyDTO} body.
+ */
+@Component
+public class PolicyMergePatchReader {
+
+    private static final Map<String, Class<?>> PATCHABLE = new LinkedHashMap<>();
+
+    static {
+        PATCHABLE.put("policyNumber", String.class);
+        PATCHABLE.put("userId", Long.class);
+        PATCHABLE.put("status", PolicyStatus.class);
+        PATCHABLE.put("policyType", AutoPolicyType.class);
+        PATCHABLE.put("startDate", LocalDate.class);
+        PATCHABLE.put("endDate", LocalDate.class);
+        PATCHABLE.put("premiumAmount", BigDecimal.class);
+        PATCHABLE.put("vehicleMake", String.class);
+        PATCHABLE.put("vehicleModel", String.class);
+        PATCHABLE.put("vehicleYear", String.class);
+        PATCHABLE.put("firstName", String.class);
+        PATCHABLE.put("lastName", String.class);
+    }
+
+    // NOT NULL columns
+    private static final Set<String> REQUIRED = Set.of("policyNumber", "userId", "status", "policyType");
+
+    private final ObjectMapper objectMapper;
+
+    public PolicyMergePatchReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param id    id of the policy being patched; an {@code id} member must match it
+     * @param patch merge-patch document, a JSON object
+     */
+    public PolicyMergePatch read(Long id, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new InvalidPolicyPatchException("Merge patch must be a JSON object");
+        }
+
+        Map<String, Object> properties = new LinkedHashMap<>();
+        Long version = null;
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+            JsonNode value = field.getValue();
+
+            if (name.equals("id")) {
+                if (!value.canConvertToLong() || value.asLong() != id) {
+                    throw new InvalidPolicyPatchException("Policy id cannot be changed");
+                }
+            } else if (name.equals("version")) {
+                version = value.isNull() ? null : convert(name, value, Long.class);
+            } else if (!PATCHABLE.containsKey(name)) {
+                throw new InvalidPolicyPatchException("Unknown policy property: " + name);
+            } else if (value.isNull()) {
+                if (REQUIRED.contains(name)) {
+                    throw new InvalidPolicyPatchException(name + " cannot be removed");
+                }
+                properties.put(name, null);
+            } else {
+                properties.put(name, convert(name, value, PATCHABLE.get(name)));
+            }
+        }
+        return new PolicyMergePatch(properties, version);
+    }
+
+    private <T> T convert(String name, JsonNode value, Class<T> type) {
+        try {
+            return objectMapper.treeToValue(value, type);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new InvalidPolicyPatchException("Invalid value for " + name + ": " + value);
+        }
+    }
+}
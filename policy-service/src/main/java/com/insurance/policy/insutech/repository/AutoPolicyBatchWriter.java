@@ -0,0 +1,84 @@
+package com.insurance.policy.insutech.repository;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.model.SuperPolicy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Plain JDBC batch inserts for bulk ingestion, bypassing the persistence context; with
+ * {@code reWriteBatchedInserts=true} the PostgreSQL driver sends each batch as
+ * multi-row INSERTs.
+ *
+ * <p>Ids are drawn from the same sequence as Hibernate using the same pooled-lo
+ * convention (each {@code nextval} reserves a block of {@link SuperPolicy#ID_ALLOCATION_SIZE}
+ * ids starting at the returned value), so both writers can run side by side. Column
+ * encodings mirror the JPA mapping of {@code AutoPolicy}: status is stored by enum name
+ * and policy type by its code.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AutoPolicyBatchWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO auto_policies (id, policy_number, user_id, status, policy_type, start_date, end_date,
+                                       premium_amount, vehicle_make, vehicle_model, vehicle_year,
+                                       first_name, last_name)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String ALLOCATE_SQL =
+            "SELECT nextval('" + SuperPolicy.ID_SEQUENCE + "') FROM generate_series(1, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert the policies with one JDBC batch. Assigns each DTO its generated id and the
+     * initial version the column default gives the row.
+     */
+    public int insertAll(List<AutoPolicyDTO> policies) {
+        if (policies.isEmpty()) {
+            return 0;
+        }
+        Iterator<Long> ids = allocateIds(policies.size()).iterator();
+        policies.forEach(policy -> {
+            policy.setId(ids.next());
+            policy.setVersion(0L);
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, policies, policies.size(), (ps, policy) -> {
+            ps.setLong(1, policy.getId());
+            ps.setString(2, policy.getPolicyNumber());
+            ps.setLong(3, policy.getUserId());
+            ps.setString(4, policy.getStatus().name());
+            ps.setString(5, policy.getPolicyType().getCode());
+            ps.setObject(6, policy.getStartDate());
+            ps.setObject(7, policy.getEndDate());
+            ps.setBigDecimal(8, policy.getPremiumAmount());
+            ps.setString(9, policy.getVehicleMake());
+            ps.setString(10, policy.getVehicleModel());
+            ps.setString(11, policy.getVehicleYear());
+            ps.setString(12, policy.getFirstName());
+            ps.setString(13, policy.getLastName());
+        });
+        return policies.size();
+    }
+
+    private List<Long> allocateIds(int count) {
+        int blocks = (count + SuperPolicy.ID_ALLOCATION_SIZE - 1) / SuperPolicy.ID_ALLOCATION_SIZE;
+        List<Long> blockStarts = jdbcTemplate.queryForList(ALLOCATE_SQL, Long.class, blocks);
+
+        List<Long> ids = new ArrayList<>(count);
+        for (Long start : blockStarts) {
+            for (int i = 0; i < SuperPolicy.ID_ALLOCATION_SIZE && ids.size() < count; i++) {
+                ids.add(start + i);
+            }
+        }
+        return ids;
+    }
+}
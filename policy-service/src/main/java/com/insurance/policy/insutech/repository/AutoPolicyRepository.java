@@ -1,13 +1,62 @@
 package com.insurance.policy.insutech.repository;
 
 import com.insurance.policy.insutech.model.AutoPolicy;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface AutoPolicyRepository extends JpaRepository<AutoPolicy, Long>, JpaSpecificationExecutor<AutoPolicy> {
+public interface AutoPolicyRepository extends JpaRepository<AutoPolicy, Long>, JpaSpecificationExecutor<AutoPolicy>,
+        AutoPolicyRepositoryCustom {
     Optional<AutoPolicy> findByPolicyNumber(String policyNumber);
-}
\ No newline at end of file
+
+    /**
+     * Which of the given policy numbers already exist, in a single IN query.
+     */
+    @Query("select p.policyNumber from AutoPolicy p where p.policyNumber in :policyNumbers")
+    Set<String> findExistingPolicyNumbers(@Param("policyNumbers") Collection<String> policyNumbers);
+
+    /**
+     * Keyset page: the next {@code limit} policies after the given id, in id order.
+     */
+    List<AutoPolicy> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Streams every policy in id order using a server-side cursor.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select p from AutoPolicy p order by p.id")
+    Stream<AutoPolicy> streamAllOrderById();
+
+    /**
+     * Delete one policy with a single DELETE statement, without loading it first.
+     *
+     * @return 1 if the policy was deleted, 0 if it did not exist
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from AutoPolicy p where p.id = :id")
+    int deletePolicyById(@Param("id") Long id);
+}
@@ -0,0 +1,24 @@
+package com.insurance.policy.insutech.repository;
+
+import com.insurance.policy.insutech.model.AutoPolicy;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Single-statement writes that Spring Data cannot derive.
+ */
+public interface AutoPolicyRepositoryCustom {
+
+    /**
+     * Write the given properties of one policy and bump its version in a single
+     * {@code UPDATE ... RETURNING} statement. Columns not named in {@code properties}
+     * are left untouched.
+     *
+     * @param id              policy to update
+     * @param expectedVersion when not null, the row is only updated if its version still matches
+     * @param properties      {@link AutoPolicy} property names mapped to their new values
+     * @return the policy as stored after the update, or empty if no row matched
+     */
+    Optional<AutoPolicy> updateProperties(Long id, Long expectedVersion, Map<String, Object> properties);
+}
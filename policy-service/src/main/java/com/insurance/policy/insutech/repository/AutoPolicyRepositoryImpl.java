@@ -0,0 +1,105 @@
+package com.insurance.policy.insutech.repository;
+
+import com.insurance.policy.insutech.model.AutoPolicy;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * JDBC implementation of {@link AutoPolicyRepositoryCustom}. Column encodings mirror
+ * the JPA mapping of {@code AutoPolicy}: status is stored by enum name and policy type
+ * by its code.
+ */
+@RequiredArgsConstructor
+public class AutoPolicyRepositoryImpl implements AutoPolicyRepositoryCustom {
+
+    /** Updatable properties and their columns; id and version are managed here. */
+    private static final Map<String, String> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("policyNumber", "policy_number");
+        COLUMNS.put("userId", "user_id");
+        COLUMNS.put("status", "status");
+        COLUMNS.put("policyType", "policy_type");
+        COLUMNS.put("startDate", "start_date");
+        COLUMNS.put("endDate", "end_date");
+        COLUMNS.put("premiumAmount", "premium_amount");
+        COLUMNS.put("vehicleMake", "vehicle_make");
+        COLUMNS.put("vehicleModel", "vehicle_model");
+        COLUMNS.put("vehicleYear", "vehicle_year");
+        COLUMNS.put("firstName", "first_name");
+        COLUMNS.put("lastName", "last_name");
+    }
+
+    private static final String RETURNING = " RETURNING id, version, " + String.join(", ", COLUMNS.values());
+
+    private static final RowMapper<AutoPolicy> ROW_MAPPER = (rs, rowNum) -> {
+        AutoPolicy policy = new AutoPolicy();
+        policy.setId(rs.getLong("id"));
+        policy.setVersion(rs.getLong("version"));
+        policy.setPolicyNumber(rs.getString("policy_number"));
+        policy.setUserId(rs.getLong("user_id"));
+        policy.setStatus(PolicyStatus.valueOf(rs.getString("status")));
+        policy.setPolicyType(AutoPolicyType.fromCode(rs.getString("policy_type")));
+        policy.setStartDate(rs.getObject("start_date", LocalDate.class));
+        policy.setEndDate(rs.getObject("end_date", LocalDate.class));
+        policy.setPremiumAmount(rs.getBigDecimal("premium_amount"));
+        policy.setVehicleMake(rs.getString("vehicle_make"));
+        policy.setVehicleModel(rs.getString("vehicle_model"));
+        policy.setVehicleYear(rs.getString("vehicle_year"));
+        policy.setFirstName(rs.getString("first_name"));
+        policy.setLastName(rs.getString("last_name"));
+        return policy;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<AutoPolicy> updateProperties(Long id, Long expectedVersion, Map<String, Object> properties) {
+        if (properties.isEmpty()) {
+            throw new IllegalArgumentException("No properties to update");
+        }
+        StringJoiner assignments = new StringJoiner(", ");
+        List<Object> args = new ArrayList<>(properties.size() + 2);
+        properties.forEach((property, value) -> {
+            String column = COLUMNS.get(property);
+            if (column == null) {
+                throw new IllegalArgumentException("Property cannot be updated: " + property);
+            }
+            assignments.add(column + " = ?");
+            args.add(toColumnValue(value));
+        });
+
+        StringBuilder sql = new StringBuilder("UPDATE auto_policies SET ")
+                .append(assignments)
+                .append(", version = version + 1 WHERE id = ?");
+        args.add(id);
+        if (expectedVersion != null) {
+            sql.append(" AND version = ?");
+            args.add(expectedVersion);
+        }
+        sql.append(RETURNING);
+
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray()).stream().findFirst();
+    }
+
+    private static Object toColumnValue(Object value) {
+        if (value instanceof PolicyStatus status) {
+            return status.name();
+        }
+        if (value instanceof AutoPolicyType type) {
+            return type.getCode();
+        }
+        return value;
+    }
+}
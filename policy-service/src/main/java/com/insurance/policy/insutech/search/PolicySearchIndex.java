@@ -0,0 +1,309 @@
+package com.insurance.policy.insutech.search;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.event.PoliciesImportedEvent;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Local Lucene index over the policyholder name, vehicle make and model, and policy
+ * number, for ranked free-text search.
+ *
+ * <p>Every query token must match one of the fields, exactly, as a prefix, or within a
+ * small edit distance; exact matches rank above prefixes, prefixes above fuzzy matches,
+ * and a query equal to a whole policy number ranks that policy first. Only ids are
+ * stored, so results are loaded from the database.
+ *
+ * <p>Writes are applied as {@link PolicyChangedEvent}s and {@link PoliciesImportedEvent}s
+ * commit and are searchable after a near-real-time refresh. The index is committed to
+ * disk by {@link #rebuild} and on shutdown; {@code PolicySearchIndexer} rebuilds it at
+ * startup, which also picks up writes made while this instance was down or by other
+ * instances.
+ */
+@Slf4j
+@Component
+public class PolicySearchIndex implements DisposableBean {
+
+    public static final int MAX_TOKENS = 8;
+
+    static final String ID = "id";
+    static final String POLICY_NUMBER_EXACT = "policyNumberExact";
+    static final String GENERATION = "generation";
+    static final List<String> TEXT_FIELDS = List.of("firstName", "lastName", "vehicleMake", "vehicleModel", "policyNumber");
+
+    private static final float EXACT_BOOST = 4f;
+    private static final float PREFIX_BOOST = 2f;
+    private static final float POLICY_NUMBER_BOOST = 20f;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    // Documents carry the generation of the rebuild they belong to; a rebuild ends by
+    // deleting every document of an older generation
+    private final Object rebuildLock = new Object();
+    private String generation = "0";
+    // Ids written by events while a rebuild streams the table; the scan must not overwrite them
+    private Set<Long> changedWhileRebuilding;
+
+    @Autowired
+    public PolicySearchIndex(@Value("${policy.search.index-dir}") Path indexDir) throws IOException {
+        this(FSDirectory.open(indexDir));
+    }
+
+    public PolicySearchIndex(Directory directory) throws IOException {
+        this.directory = directory;
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * @param text  free text; tokens beyond {@link #MAX_TOKENS} are ignored
+     * @param limit maximum number of hits
+     * @return ids of matching policies, best match first
+     * @throws IllegalArgumentException if the text has no searchable token
+     */
+    public List<Long> search(String text, int limit) {
+        Query query = query(text);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                ScoreDoc[] hits = searcher.search(query, limit).scoreDocs;
+                List<Long> ids = new ArrayList<>(hits.length);
+                for (ScoreDoc hit : hits) {
+                    ids.add(Long.valueOf(searcher.storedFields().document(hit.doc).get(ID)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        try {
+            synchronized (rebuildLock) {
+                if (changedWhileRebuilding != null) {
+                    changedWhileRebuilding.add(event.policyId());
+                }
+                if (event.isDelete()) {
+                    writer.deleteDocuments(new Term(ID, event.policyId().toString()));
+                } else {
+                    writer.updateDocument(new Term(ID, event.policyId().toString()), document(event.policy(), generation));
+                }
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Could not index policy {}; search may be stale until the next rebuild", event.policyId(), e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPoliciesImported(PoliciesImportedEvent event) {
+        try {
+            synchronized (rebuildLock) {
+                addAll(event.policies(), generation);
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Could not index {} imported policies; search may be stale until the next rebuild",
+                    event.policies().size(), e);
+        }
+    }
+
+    /**
+     * Re-index every policy from a full scan, drop documents of policies the scan did not
+     * see, then commit. Searches keep working throughout; if the scan fails, stale
+     * documents simply stay until the next rebuild.
+     *
+     * @param source streams every stored policy to the given consumer
+     * @return number of policies indexed
+     * @throws IllegalStateException if a rebuild is already running
+     */
+    public long rebuild(Consumer<Consumer<AutoPolicyDTO>> source) throws IOException {
+        String current = Long.toString(System.currentTimeMillis());
+        synchronized (rebuildLock) {
+            if (changedWhileRebuilding != null) {
+                throw new IllegalStateException("A search index rebuild is already running");
+            }
+            changedWhileRebuilding = new HashSet<>();
+            generation = current;
+        }
+        long[] indexed = {0};
+        List<AutoPolicyDTO> batch = new ArrayList<>();
+        try {
+            source.accept(policy -> {
+                batch.add(policy);
+                if (batch.size() == 1000) {
+                    indexed[0] += addScanned(batch, current);
+                    batch.clear();
+                }
+            });
+            indexed[0] += addScanned(batch, current);
+        } finally {
+            synchronized (rebuildLock) {
+                changedWhileRebuilding = null;
+            }
+        }
+        writer.deleteDocuments(new BooleanQuery.Builder()
+                .add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(GENERATION, current)), BooleanClause.Occur.MUST_NOT)
+                .build());
+        writer.commit();
+        searcherManager.maybeRefresh();
+        return indexed[0];
+    }
+
+    /** Number of policies in the searchable view. */
+    public int size() throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return searcher.getIndexReader().numDocs();
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        searcherManager.close();
+        if (writer.isOpen()) {
+            writer.commit();
+            writer.close();
+        }
+        directory.close();
+    }
+
+    private int addScanned(List<AutoPolicyDTO> policies, String current) {
+        List<AutoPolicyDTO> unchanged = new ArrayList<>(policies.size());
+        synchronized (rebuildLock) {
+            for (AutoPolicyDTO policy : policies) {
+                if (!changedWhileRebuilding.contains(policy.getId())) {
+                    unchanged.add(policy);
+                }
+            }
+            try {
+                addAll(unchanged, current);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return unchanged.size();
+    }
+
+    private void addAll(Collection<AutoPolicyDTO> policies, String generation) throws IOException {
+        for (AutoPolicyDTO policy : policies) {
+            writer.updateDocument(new Term(ID, policy.getId().toString()), document(policy, generation));
+        }
+    }
+
+    private static Document document(AutoPolicyDTO policy, String generation) {
+        Document document = new Document();
+        document.add(new StringField(ID, policy.getId().toString(), Field.Store.YES));
+        document.add(new StringField(GENERATION, generation, Field.Store.NO));
+        if (policy.getPolicyNumber() != null) {
+            document.add(new StringField(POLICY_NUMBER_EXACT, policy.getPolicyNumber().toLowerCase(Locale.ROOT), Field.Store.NO));
+        }
+        addText(document, "firstName", policy.getFirstName());
+        addText(document, "lastName", policy.getLastName());
+        addText(document, "vehicleMake", policy.getVehicleMake());
+        addText(document, "vehicleModel", policy.getVehicleModel());
+        addText(document, "policyNumber", policy.getPolicyNumber());
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    Query query(String text) {
+        List<String> tokens = tokens(text);
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Search text has no searchable terms");
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String token : tokens) {
+            query.add(tokenQuery(token), BooleanClause.Occur.MUST);
+        }
+        query.add(new BoostQuery(new TermQuery(new Term(POLICY_NUMBER_EXACT, text.trim().toLowerCase(Locale.ROOT))),
+                POLICY_NUMBER_BOOST), BooleanClause.Occur.SHOULD);
+        return query.build();
+    }
+
+    private static Query tokenQuery(String token) {
+        BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+        int maxEdits = token.length() >= 6 ? 2 : token.length() >= 3 ? 1 : 0;
+        for (String field : TEXT_FIELDS) {
+            Term term = new Term(field, token);
+            anyField.add(new BoostQuery(new TermQuery(term), EXACT_BOOST), BooleanClause.Occur.SHOULD);
+            anyField.add(new BoostQuery(new PrefixQuery(term), PREFIX_BOOST), BooleanClause.Occur.SHOULD);
+            if (maxEdits > 0) {
+                // First character must match, which keeps the term expansion small
+                anyField.add(new FuzzyQuery(term, maxEdits, 1), BooleanClause.Occur.SHOULD);
+            }
+        }
+        return anyField.build();
+    }
+
+    private List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream("", text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken() && tokens.size() < MAX_TOKENS) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tokens;
+    }
+}
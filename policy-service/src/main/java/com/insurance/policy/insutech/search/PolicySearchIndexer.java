@@ -0,0 +1,62 @@
+package com.insurance.policy.insutech.search;
+
+import com.insurance.policy.insutech.service.AutoPolicyService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rebuilds the {@link PolicySearchIndex} from the database in the background: once after
+ * startup (unless disabled) and on demand. Searches are answered from the existing index
+ * while a rebuild runs.
+ */
+@Slf4j
+@Component
+public class PolicySearchIndexer {
+
+    private final PolicySearchIndex policySearchIndex;
+    private final AutoPolicyService autoPolicyService;
+    private final boolean rebuildOnStartup;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public PolicySearchIndexer(PolicySearchIndex policySearchIndex,
+                               AutoPolicyService autoPolicyService,
+                               @Value("${policy.search.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        this.policySearchIndex = policySearchIndex;
+        this.autoPolicyService = autoPolicyService;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (rebuildOnStartup) {
+            rebuildAsync();
+        }
+    }
+
+    /**
+     * @return false if a rebuild is already running
+     */
+    public boolean rebuildAsync() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread.ofVirtual().name("policy-search-rebuild").start(() -> {
+            long started = System.nanoTime();
+            try {
+                long indexed = policySearchIndex.rebuild(autoPolicyService::streamAllPolicies);
+                log.info("Policy search index rebuilt: {} policies in {} ms", indexed, (System.nanoTime() - started) / 1_000_000);
+            } catch (IOException | RuntimeException e) {
+                log.error("Policy search index rebuild failed", e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+}
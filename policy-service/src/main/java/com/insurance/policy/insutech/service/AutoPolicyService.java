@@ -1,11 +1,17 @@
 package com.insurance.policy.insutech.service;
 
 import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.AutoPolicyPageDTO;
+import com.insurance.policy.insutech.dto.PolicyChangeFeedDTO;
+import com.insurance.policy.insutech.dto.PolicyStatsDTO;
+import com.insurance.policy.insutech.filter.PolicyStatsDimension;
 import com.insurance.policy.insutech.model.AutoPolicyType;
 import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.patch.PolicyMergePatch;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AutoPolicyService {
 
@@ -15,10 +21,37 @@ public interface AutoPolicyService {
 
   AutoPolicyDTO getPolicyById(Long id);
 
+  /**
+   * The first policies by id, capped; use {@link #getPoliciesPage} to read further.
+   */
   List<AutoPolicyDTO> getAllPolicies();
 
+  /**
+   * Keyset-paginated listing ordered by id.
+   *
+   * @param cursor continuation token from a previous page, or null for the first page
+   * @param size   maximum number of policies to return
+   * @return the page and the token for the next one
+   */
+  AutoPolicyPageDTO getPoliciesPage(String cursor, int size);
+
+  /**
+   * Streams every policy in id order to the given consumer without materialising the table.
+   */
+  void streamAllPolicies(Consumer<AutoPolicyDTO> consumer);
+
   AutoPolicyDTO updatePolicy(Long id, AutoPolicyDTO autoPolicyDTO);
 
+  /**
+   * Partially update a policy. Only the properties named in the patch are written;
+   * everything else keeps its stored value.
+   *
+   * @param id    policy to patch
+   * @param patch parsed merge patch; its version, when present, must match the stored one
+   * @return the policy after the patch
+   */
+  AutoPolicyDTO patchPolicy(Long id, PolicyMergePatch patch);
+
   void deletePolicy(Long id);
 
   List<AutoPolicyDTO> createPolicies(List<AutoPolicyDTO> autoPolicyDTOs);
@@ -48,4 +81,47 @@ public interface AutoPolicyService {
                                      Double minPremium,
                                      Double maxPremium,
                                      Long userId);
+
+  /**
+   * Ranked free-text search over holder names, vehicle make and model, and policy number,
+   * with prefix and typo-tolerant matching.
+   *
+   * @param query free text; every term must match
+   * @param limit maximum number of policies to return
+   * @return matching policies, best match first
+   */
+  List<AutoPolicyDTO> searchPolicies(String query, int limit);
+
+  /**
+   * Counts and premium aggregates of the policies matching the same criteria as
+   * {@link #getAllPolicies(LocalDate, LocalDate, PolicyStatus, AutoPolicyType, String, String, String, Double, Double, Long)},
+   * computed by the database.
+   *
+   * @param groupBy dimension to group by, or {@link PolicyStatsDimension#NONE} for one overall group
+   * @param limit   maximum number of groups to return
+   * @return one entry per group, largest first (chronological when grouped by month)
+   */
+  PolicyStatsDTO getPolicyStats(PolicyStatsDimension groupBy,
+                                int limit,
+                                LocalDate startDate,
+                                LocalDate endDate,
+                                PolicyStatus status,
+                                AutoPolicyType type,
+                                String vehicleMake,
+                                String firstName,
+                                String lastName,
+                                Double minPremium,
+                                Double maxPremium,
+                                Long userId);
+
+  /**
+   * Committed policy writes in the order they were relayed from the outbox, for
+   * consumers that keep their own copy of the book up to date incrementally.
+   *
+   * @param after last sequence the caller has applied; 0 to start from the oldest retained change
+   * @param limit maximum number of changes to return
+   * @throws com.insurance.policy.insutech.exception.ChangeFeedExpiredException if changes
+   *         after {@code after} have already been purged
+   */
+  PolicyChangeFeedDTO getPolicyChanges(long after, int limit);
 }
@@ -0,0 +1,30 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.dto.ImportJobDTO;
+import com.insurance.policy.insutech.ingest.IngestFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public interface PolicyImportJobService {
+
+  /**
+   * Accept an NDJSON or CSV file for asynchronous import.
+   * <p>
+   * The body is spooled to a temporary file before this method returns, so the caller
+   * can complete its request immediately. The job then splits the file into chunks and
+   * commits them in parallel transactions; list caches are invalidated once when the job
+   * ends.
+   *
+   * @return the queued job
+   */
+  ImportJobDTO submit(InputStream input, IngestFormat format) throws IOException;
+
+  ImportJobDTO getJob(String jobId);
+
+  /**
+   * @return retained jobs, most recently submitted first
+   */
+  List<ImportJobDTO> getJobs();
+}
@@ -0,0 +1,24 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.dto.IngestionProgressDTO;
+import com.insurance.policy.insutech.ingest.IngestFormat;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface PolicyIngestionService {
+
+  /**
+   * Stream-ingest policies from an NDJSON or CSV body.
+   * <p>
+   * The body is parsed incrementally and written in chunks; each chunk is checked for
+   * existing policy numbers with one query and inserted with one JDBC batch in its own
+   * transaction. Chunks committed before a failure stay committed.
+   *
+   * @param input    request body
+   * @param format   body format
+   * @param progress receives running totals after every chunk
+   * @return final totals
+   */
+  IngestionProgressDTO ingest(InputStream input, IngestFormat format, Consumer<IngestionProgressDTO> progress);
+}
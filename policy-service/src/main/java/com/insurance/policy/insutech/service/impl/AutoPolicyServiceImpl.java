@@ -1,57 +1,95 @@
 package com.insurance.policy.insutech.service.impl;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.insurance.policy.insutech.cache.FilteredPolicyCache;
+import com.insurance.policy.insutech.cache.PolicyNumberIndex;
 import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.AutoPolicyPageDTO;
+import com.insurance.policy.insutech.dto.PolicyChangeDTO;
+import com.insurance.policy.insutech.dto.PolicyChangeFeedDTO;
+import com.insurance.policy.insutech.dto.PolicyStatsDTO;
+import com.insurance.policy.insutech.dto.PolicyStatsGroupDTO;
+import com.insurance.policy.insutech.event.PoliciesImportedEvent;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
 import com.insurance.policy.insutech.exception.AutoPolicyNotFoundException;
+import com.insurance.policy.insutech.exception.ChangeFeedExpiredException;
+import com.insurance.policy.insutech.exception.InvalidCursorException;
+import com.insurance.policy.insutech.filter.PolicyFilter;
+import com.insurance.policy.insutech.filter.PolicyQueryPlan;
+import com.insurance.policy.insutech.filter.PolicyQueryPlanner;
+import com.insurance.policy.insutech.filter.PolicyStatsDimension;
 import com.insurance.policy.insutech.mapper.AutoPolicyMapper;
 import com.insurance.policy.insutech.model.AutoPolicy;
 import com.insurance.policy.insutech.model.AutoPolicyType;
 import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.outbox.PolicyOutbox;
+import com.insurance.policy.insutech.patch.PolicyMergePatch;
 import com.insurance.policy.insutech.repository.AutoPolicyRepository;
+import com.insurance.policy.insutech.search.PolicySearchIndex;
+import com.insurance.policy.insutech.snapshot.PolicySnapshot;
 import com.insurance.policy.insutech.service.AutoPolicyService;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
-import jakarta.persistence.criteria.CriteriaBuilder;
-import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.Predicate;
-import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class AutoPolicyServiceImpl implements AutoPolicyService {
 
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_UNPAGED_SIZE = 1000;
+    private static final String UNIQUE_VIOLATION = "23505";
+
     private final AutoPolicyRepository autoPolicyRepository;
+    private final PolicyQueryPlanner policyQueryPlanner;
+    private final FilteredPolicyCache filteredPolicyCache;
+    private final PolicyNumberIndex policyNumberIndex;
+    private final PolicySnapshot policySnapshot;
+    private final PolicySearchIndex policySearchIndex;
+    private final PolicyOutbox policyOutbox;
+    private final ApplicationEventPublisher eventPublisher;
     private final AutoPolicyMapper autoPolicyMapper = AutoPolicyMapper.INSTANCE;
 
     @PersistenceContext
     private EntityManager entityManager;
 
-    // Manual cache for complex queries with dynamic filters
-    private final Cache<String, List<AutoPolicyDTO>> filteredPoliciesCache = Caffeine.newBuilder()
-            .expireAfterWrite(10, TimeUnit.MINUTES)
-            .maximumSize(200)
-            .build();
-
     /**
      * Get single policy by ID (cached in "policies" region).
      */
     @Override
     @Cacheable(value = "policies", key = "#id")
     public AutoPolicyDTO getPolicyById(Long id) {
-        return autoPolicyRepository.findById(id)
+        AutoPolicyDTO policy = autoPolicyRepository.findById(id)
                 .map(autoPolicyMapper::toDTO)
                 .orElseThrow(() ->
                         new AutoPolicyNotFoundException("AutoPolicy not found with ID: " + id));
+        policyNumberIndex.record(policy);
+        return policy;
     }
 
     /**
@@ -63,35 +101,42 @@ public class AutoPolicyServiceImpl implements AutoPolicyService {
         AutoPolicy policy = autoPolicyRepository.findByPolicyNumber(policyNumber)
                 .orElseThrow(() ->
                         new AutoPolicyNotFoundException("AutoPolicy with number " + policyNumber + " not found"));
-        return autoPolicyMapper.toDTO(policy);
+        AutoPolicyDTO dto = autoPolicyMapper.toDTO(policy);
+        policyNumberIndex.record(dto);
+        return dto;
     }
 
     /**
-     * Create new policy, evict caches to avoid stale data.
+     * Create new policy, evict caches to avoid stale data. The unique constraint on
+     * policy_number rejects duplicates, so no lookup precedes the INSERT.
+     *
+     * <p>Writes run in one transaction so the outbox row recorded for the change commits
+     * with them, and cache listeners only see committed writes.
      */
     @Override
-    @Caching(evict = {
-            @CacheEvict(value = "allPolicies", allEntries = true),
-            @CacheEvict(value = "filteredPolicies", allEntries = true),
-            @CacheEvict(value = "policyNumbers", allEntries = true)
-    })
-
+    @Transactional
+    @CacheEvict(value = "allPolicies", allEntries = true)
     public AutoPolicyDTO createPolicy(AutoPolicyDTO autoPolicyDTO) {
-        if (autoPolicyRepository.findByPolicyNumber(autoPolicyDTO.getPolicyNumber()).isPresent()) {
-            throw new IllegalArgumentException("Policy number already exists: " + autoPolicyDTO.getPolicyNumber());
-        }
         AutoPolicy policy = autoPolicyMapper.toEntity(autoPolicyDTO);
-        return autoPolicyMapper.toDTO(autoPolicyRepository.save(policy));
+        AutoPolicy saved;
+        try {
+            saved = autoPolicyRepository.saveAndFlush(policy);
+        } catch (DataIntegrityViolationException e) {
+            throw translateUniqueViolation(e, autoPolicyDTO.getPolicyNumber());
+        }
+        AutoPolicyDTO created = autoPolicyMapper.toDTO(saved);
+        eventPublisher.publishEvent(PolicyChangedEvent.created(created));
+        return created;
     }
 
-
     /**
-     * Get all policies (cached in "allPolicies").
+     * The first {@value #MAX_UNPAGED_SIZE} policies by id (cached in "allPolicies"). Larger
+     * listings go through {@link #getPoliciesPage} or the stream.
      */
     @Override
     @Cacheable(value = "allPolicies", key = "'all'")
     public List<AutoPolicyDTO> getAllPolicies() {
-        List<AutoPolicy> entities = autoPolicyRepository.findAll();
+        List<AutoPolicy> entities = autoPolicyRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(MAX_UNPAGED_SIZE));
         if (entities.isEmpty()) {
             throw new AutoPolicyNotFoundException("No auto policies found.");
         }
@@ -101,63 +146,186 @@ public class AutoPolicyServiceImpl implements AutoPolicyService {
     }
 
     /**
-     * Update policy by ID. Updates single cache entry, evicts lists.
+     * Keyset page ordered by id. Seeks past the id carried in the cursor, so the
+     * cost of a page does not grow with how deep into the table it is.
      */
     @Override
-    @Caching(
-            put = @CachePut(value = "policies", key = "#id"),
-            evict = {
-                    @CacheEvict(value = "policyNumbers", allEntries = true),
-                    @CacheEvict(value = "allPolicies", allEntries = true),
-                    @CacheEvict(value = "filteredPolicies", allEntries = true)
-            }
-    )
+    public AutoPolicyPageDTO getPoliciesPage(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long afterId = decodeCursor(cursor);
+
+        // Fetch one extra row to learn whether another page exists
+        List<AutoPolicy> rows = autoPolicyRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<AutoPolicyDTO> content = rows.stream()
+                .limit(pageSize)
+                .map(autoPolicyMapper::toDTO)
+                .collect(Collectors.toList());
+
+        String nextCursor = hasMore ? encodeCursor(content.get(content.size() - 1).getId()) : null;
+        return new AutoPolicyPageDTO(content, nextCursor, hasMore);
+    }
+
+    /**
+     * Stream every policy through a database cursor. Each entity is detached once
+     * mapped so the persistence context does not grow with the table.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllPolicies(Consumer<AutoPolicyDTO> consumer) {
+        try (Stream<AutoPolicy> policies = autoPolicyRepository.streamAllOrderById()) {
+            policies.forEach(policy -> {
+                AutoPolicyDTO dto = autoPolicyMapper.toDTO(policy);
+                entityManager.detach(policy);
+                consumer.accept(dto);
+            });
+        }
+    }
+
+    /**
+     * Update policy by ID with one UPDATE ... RETURNING statement. When the DTO carries a
+     * version the update only applies to that version. The "policies" and "policyNumbers"
+     * entries are replaced by PolicyNumberIndex (handling renamed policy numbers); the
+     * list cache is evicted.
+     */
+    @Override
+    @Transactional
+    @CacheEvict(value = "allPolicies", allEntries = true)
     public AutoPolicyDTO updatePolicy(Long id, AutoPolicyDTO autoPolicyDTO) {
-        if (!autoPolicyRepository.existsById(id)) {
-            throw new AutoPolicyNotFoundException("AutoPolicy not found with ID: " + id);
+        AutoPolicyDTO saved = applyUpdate(id, autoPolicyDTO.getVersion(), updatableProperties(autoPolicyDTO));
+        eventPublisher.publishEvent(PolicyChangedEvent.updated(saved));
+        return saved;
+    }
+
+    /**
+     * Apply a JSON Merge Patch, writing only the columns it names in one UPDATE. The
+     * "policies" and "policyNumbers" entries are replaced by PolicyNumberIndex; the
+     * "allPolicies" list is evicted, as for a full update, since rewriting it in place
+     * races with concurrent writers.
+     */
+    @Override
+    @Transactional
+    @CacheEvict(value = "allPolicies", allEntries = true)
+    public AutoPolicyDTO patchPolicy(Long id, PolicyMergePatch patch) {
+        if (patch.isEmpty()) {
+            return autoPolicyRepository.findById(id)
+                    .map(autoPolicyMapper::toDTO)
+                    .orElseThrow(() -> new AutoPolicyNotFoundException("AutoPolicy not found with ID: " + id));
         }
-        AutoPolicy updated = autoPolicyMapper.toEntity(autoPolicyDTO);
-        updated.setId(id); // ensure existing ID
-        return autoPolicyMapper.toDTO(autoPolicyRepository.save(updated));
+        AutoPolicyDTO saved = applyUpdate(id, patch.version(), patch.properties());
+        eventPublisher.publishEvent(PolicyChangedEvent.updated(saved));
+        return saved;
     }
 
     /**
-     * Delete policy and evict all caches that may contain it.
+     * Delete policy with a single DELETE. PolicyNumberIndex evicts its "policies" and
+     * "policyNumbers" entries.
      */
     @Override
-    @Caching(evict = {
-            @CacheEvict(value = "policies", key = "#id"),
-            @CacheEvict(value = "policyNumbers", allEntries = true),
-            @CacheEvict(value = "allPolicies", allEntries = true),
-            @CacheEvict(value = "filteredPolicies", allEntries = true)
-    })
+    @Transactional
+    @CacheEvict(value = "allPolicies", allEntries = true)
     public void deletePolicy(Long id) {
-        if (!autoPolicyRepository.existsById(id)) {
+        if (autoPolicyRepository.deletePolicyById(id) == 0) {
             throw new AutoPolicyNotFoundException("AutoPolicy with ID " + id + " not found");
         }
-        autoPolicyRepository.deleteById(id);
+        eventPublisher.publishEvent(PolicyChangedEvent.deleted(id));
+    }
+
+    private AutoPolicyDTO applyUpdate(Long id, Long expectedVersion, Map<String, Object> properties) {
+        Optional<AutoPolicy> updated;
+        try {
+            updated = autoPolicyRepository.updateProperties(id, expectedVersion, properties);
+        } catch (DataIntegrityViolationException e) {
+            throw translateUniqueViolation(e, (String) properties.get("policyNumber"));
+        }
+        return updated.map(autoPolicyMapper::toDTO)
+                .orElseThrow(() -> missingOrStale(id, expectedVersion));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * No row matched the update. Only a versioned update needs a second look, to tell
+     * a concurrent modification apart from a missing policy.
+     */
+    private RuntimeException missingOrStale(Long id, Long expectedVersion) {
+        if (expectedVersion != null && autoPolicyRepository.existsById(id)) {
+            return new ObjectOptimisticLockingFailureException(AutoPolicy.class, id);
+        }
+        return new AutoPolicyNotFoundException("AutoPolicy not found with ID: " + id);
+    }
+
+    private static RuntimeException translateUniqueViolation(DataIntegrityViolationException e, String policyNumber) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                return new IllegalArgumentException("Policy number already exists: " + policyNumber);
+            }
+        }
+        return e;
+    }
+
+    private static Map<String, Object> updatableProperties(AutoPolicyDTO dto) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("policyNumber", dto.getPolicyNumber());
+        properties.put("userId", dto.getUserId());
+        properties.put("status", dto.getStatus());
+        properties.put("policyType", dto.getPolicyType());
+        properties.put("startDate", dto.getStartDate());
+        properties.put("endDate", dto.getEndDate());
+        properties.put("premiumAmount", dto.getPremiumAmount());
+        properties.put("vehicleMake", dto.getVehicleMake());
+        properties.put("vehicleModel", dto.getVehicleModel());
+        properties.put("vehicleYear", dto.getVehicleYear());
+        properties.put("firstName", dto.getFirstName());
+        properties.put("lastName", dto.getLastName());
+        return properties;
     }
 
     /**
-     * Create policies in batch. Evict list caches since many policies may be added.
+     * Create policies in batch. The batch is announced as one {@link PoliciesImportedEvent},
+     * as bulk ingest does, and the list caches are dropped once the write commits: patching
+     * every filtered entry per created policy costs more than reloading them.
      */
     @Override
-    @Caching(evict = {
-            @CacheEvict(value = "allPolicies", allEntries = true),
-            @CacheEvict(value = "filteredPolicies", allEntries = true),
-            @CacheEvict(value = "policyNumbers", allEntries = true)
-    })
+    @Transactional
+    @CacheEvict(value = "allPolicies", allEntries = true)
     public List<AutoPolicyDTO> createPolicies(List<AutoPolicyDTO> autoPolicyDTOs) {
+        Set<String> requested = new HashSet<>();
+        for (AutoPolicyDTO dto : autoPolicyDTOs) {
+            if (!requested.add(dto.getPolicyNumber())) {
+                throw new IllegalArgumentException("Duplicate policy number in batch: " + dto.getPolicyNumber());
+            }
+        }
+        Set<String> existing = autoPolicyRepository.findExistingPolicyNumbers(requested);
+        if (!existing.isEmpty()) {
+            throw new IllegalArgumentException("Policy numbers already exist: " + existing);
+        }
+
         List<AutoPolicy> entities = autoPolicyDTOs.stream()
                 .map(autoPolicyMapper::toEntity)
                 .collect(Collectors.toList());
-        return autoPolicyRepository.saveAll(entities).stream()
+        List<AutoPolicyDTO> created = autoPolicyRepository.saveAll(entities).stream()
                 .map(autoPolicyMapper::toDTO)
                 .collect(Collectors.toList());
+        eventPublisher.publishEvent(new PoliciesImportedEvent(List.copyOf(created)));
+        afterCommit(filteredPolicyCache::invalidateAll);
+        return created;
     }
 
     /**
-     * Complex filtered query with manual caching.
+     * Complex filtered query, answered from the in-memory PolicySnapshot when it is
+     * enabled and loaded, otherwise cached per canonical filter in FilteredPolicyCache.
      * Supports filtering by userId in addition to other criteria.
      */
     @Override
@@ -173,22 +341,50 @@ public class AutoPolicyServiceImpl implements AutoPolicyService {
             Double maxPremium,
             Long userId
     ) {
-        String cacheKey = generateCacheKey(startDate, endDate, status, type,
+        PolicyFilter filter = PolicyFilter.of(startDate, endDate, status, type,
                 vehicleMake, firstName, lastName, minPremium, maxPremium, userId);
-
-        List<AutoPolicyDTO> cached = filteredPoliciesCache.getIfPresent(cacheKey);
-        if (cached != null) {
-            return cached;
+        if (policySnapshot.isReady()) {
+            return policySnapshot.filter(filter); // always current, so nothing to cache
         }
+        return filteredPolicyCache.get(filter, this::executeFilteredQuery);
+    }
 
-        List<AutoPolicyDTO> result = executeFilteredQuery(startDate, endDate, status, type,
-                vehicleMake, firstName, lastName, minPremium, maxPremium, userId);
+    private List<AutoPolicyDTO> executeFilteredQuery(PolicyFilter filter) {
+        PolicyQueryPlan plan = policyQueryPlanner.plan(filter);
+        return plan.bind(entityManager.createQuery(plan.jpql(), AutoPolicy.class), filter)
+                .getResultList().stream()
+                .map(autoPolicyMapper::toDTO)
+                .collect(Collectors.toList());
+    }
 
-        filteredPoliciesCache.put(cacheKey, result);
-        return result;
+    /**
+     * Ids come from the local search index in rank order; the policies themselves are
+     * read with one query.
+     */
+    @Override
+    public List<AutoPolicyDTO> searchPolicies(String query, int limit) {
+        List<Long> ids = policySearchIndex.search(query, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, AutoPolicyDTO> policies = autoPolicyRepository.findAllById(ids).stream()
+                .map(autoPolicyMapper::toDTO)
+                .collect(Collectors.toMap(AutoPolicyDTO::getId, policy -> policy));
+        return ids.stream()
+                .map(policies::get)
+                .filter(Objects::nonNull) // deleted since it was indexed
+                .collect(Collectors.toList());
     }
 
-    private List<AutoPolicyDTO> executeFilteredQuery(
+    /**
+     * One GROUP BY over the rows selected by the filter's compiled plan; nothing is
+     * loaded into memory but the aggregates.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PolicyStatsDTO getPolicyStats(
+            PolicyStatsDimension groupBy,
+            int limit,
             LocalDate startDate,
             LocalDate endDate,
             PolicyStatus status,
@@ -200,62 +396,86 @@ public class AutoPolicyServiceImpl implements AutoPolicyService {
             Double maxPremium,
             Long userId
     ) {
-        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<AutoPolicy> query = cb.createQuery(AutoPolicy.class);
-        Root<AutoPolicy> root = query.from(AutoPolicy.class);
-
-        List<Predicate> predicates = new ArrayList<>();
-
-        if (startDate != null) predicates.add(cb.greaterThanOrEqualTo(root.get("startDate"), startDate));
-        if (endDate != null) predicates.add(cb.lessThanOrEqualTo(root.get("endDate"), endDate));
-        if (status != null) predicates.add(cb.equal(root.get("status"), status));
-        if (type != null) predicates.add(cb.equal(root.get("policyType"), type));
-        if (vehicleMake != null && !vehicleMake.isEmpty()) {
-            predicates.add(cb.like(cb.lower(root.get("vehicleMake")), "%" + vehicleMake.toLowerCase() + "%"));
-        }
-        if (firstName != null && !firstName.isEmpty()) {
-            predicates.add(cb.like(cb.lower(root.get("firstName")), "%" + firstName.toLowerCase() + "%"));
+        PolicyFilter filter = PolicyFilter.of(startDate, endDate, status, type,
+                vehicleMake, firstName, lastName, minPremium, maxPremium, userId);
+        PolicyQueryPlan plan = policyQueryPlanner.plan(filter);
+        List<Object[]> rows = plan.bind(entityManager.createQuery(plan.statsJpql(groupBy), Object[].class), filter)
+                .setMaxResults(limit + 1)
+                .getResultList();
+
+        boolean truncated = rows.size() > limit;
+        List<PolicyStatsGroupDTO> groups = rows.stream()
+                .limit(limit)
+                .map(row -> toStatsGroup(groupBy, row))
+                .collect(Collectors.toList());
+        return new PolicyStatsDTO(groupBy.param(), groups, truncated);
+    }
+
+    private static PolicyStatsGroupDTO toStatsGroup(PolicyStatsDimension groupBy, Object[] row) {
+        int i = 0;
+        PolicyStatsGroupDTO group = new PolicyStatsGroupDTO();
+        if (groupBy != PolicyStatsDimension.NONE) {
+            group.setKey(groupBy.label(row[i++]));
         }
-        if (lastName != null && !lastName.isEmpty()) {
-            predicates.add(cb.like(cb.lower(root.get("lastName")), "%" + lastName.toLowerCase() + "%"));
+        group.setCount(((Number) row[i++]).longValue());
+        group.setSumPremium(toPremium(row[i++]));
+        group.setAvgPremium(toPremium(row[i++]));
+        group.setMinPremium(toPremium(row[i++]));
+        group.setMaxPremium(toPremium(row[i++]));
+        group.setP50Premium(toPremium(row[i++]));
+        group.setP90Premium(toPremium(row[i++]));
+        group.setP99Premium(toPremium(row[i]));
+        return group;
+    }
+
+    private static BigDecimal toPremium(Object value) {
+        if (value == null) {
+            return null;
         }
-        if (minPremium != null) predicates.add(cb.greaterThanOrEqualTo(root.get("premiumAmount"), minPremium));
-        if (maxPremium != null) predicates.add(cb.lessThanOrEqualTo(root.get("premiumAmount"), maxPremium));
-        if (userId != null) predicates.add(cb.equal(root.get("userId"), userId)); // ✅ filter by user
+        BigDecimal amount = value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
 
-        query.select(root).where(predicates.toArray(new Predicate[0]));
-        return entityManager.createQuery(query).getResultList().stream()
-                .map(autoPolicyMapper::toDTO)
-                .collect(Collectors.toList());
+    static String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
     }
 
-    private String generateCacheKey(
-            LocalDate startDate,
-            LocalDate endDate,
-            PolicyStatus status,
-            AutoPolicyType type,
-            String vehicleMake,
-            String firstName,
-            String lastName,
-            Double minPremium,
-            Double maxPremium,
-            Long userId
-    ) {
-        return String.format("filter_%s_%s_%s_%s_%s_%s_%s_%s_%s_%s",
-                startDate != null ? startDate : "null",
-                endDate != null ? endDate : "null",
-                status != null ? status : "null",
-                type != null ? type : "null",
-                vehicleMake != null ? vehicleMake : "null",
-                firstName != null ? firstName : "null",
-                lastName != null ? lastName : "null",
-                minPremium != null ? minPremium : "null",
-                maxPremium != null ? maxPremium : "null",
-                userId != null ? userId : "null");
+    static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid page cursor: " + cursor);
+        }
     }
 
     /** Clear all cached filter queries (for admin/debugging). */
     public void clearFilteredCache() {
-        filteredPoliciesCache.invalidateAll();
+        filteredPolicyCache.invalidateAll();
+    }
+
+    /**
+     * Read the outbox past {@code after}. A gap between {@code after} and the oldest
+     * retained sequence means the caller missed purged changes.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PolicyChangeFeedDTO getPolicyChanges(long after, int limit) {
+        Long first = policyOutbox.firstSequence();
+        if (after > 0 && first != null && first > after + 1) {
+            throw new ChangeFeedExpiredException("Changes after sequence " + after
+                    + " are no longer retained; the oldest retained change is " + first);
+        }
+        // Fetch one extra change to learn whether more are waiting
+        List<PolicyChangeDTO> changes = policyOutbox.findPublishedAfter(after, limit + 1);
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+        long lastSequence = changes.isEmpty() ? after : changes.get(changes.size() - 1).getSequence();
+        return new PolicyChangeFeedDTO(changes, lastSequence, hasMore);
     }
 }
@@ -0,0 +1,215 @@
+package com.insurance.policy.insutech.service.impl;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.ImportJobDTO;
+import com.insurance.policy.insutech.exception.ImportJobNotFoundException;
+import com.insurance.policy.insutech.ingest.ImportJob;
+import com.insurance.policy.insutech.ingest.IngestFormat;
+import com.insurance.policy.insutech.ingest.PolicyChunkWriter;
+import com.insurance.policy.insutech.ingest.PolicyRecordReader;
+import com.insurance.policy.insutech.service.PolicyImportJobService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs bulk imports on virtual threads. Each job has one reader thread that parses the
+ * spooled file, validates rows and drops policy numbers repeated anywhere in the file;
+ * complete chunks are handed to writer threads that commit them in parallel.
+ *
+ * <p>A semaphore shared by all jobs caps the number of chunks being written at once,
+ * which bounds both database connections in use and chunks held in memory: the reader
+ * blocks until a writer frees a permit.
+ */
+@Slf4j
+@Service
+public class PolicyImportJobServiceImpl implements PolicyImportJobService, DisposableBean {
+
+    private final PolicyRecordReader recordReader;
+    private final PolicyChunkWriter chunkWriter;
+    private final int chunkSize;
+    private final int maxErrors;
+    private final Semaphore writePermits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Cache<String, ImportJob> jobs;
+
+    public PolicyImportJobServiceImpl(PolicyRecordReader recordReader,
+                                      PolicyChunkWriter chunkWriter,
+                                      @Value("${policy.import.chunk-size:1000}") int chunkSize,
+                                      @Value("${policy.import.parallelism:4}") int parallelism,
+                                      @Value("${policy.import.max-errors:1000}") int maxErrors,
+                                      @Value("${policy.import.retention:24h}") Duration retention) {
+        this.recordReader = recordReader;
+        this.chunkWriter = chunkWriter;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.writePermits = new Semaphore(parallelism);
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    @Override
+    public ImportJobDTO submit(InputStream input, IngestFormat format) throws IOException {
+        Path spool = Files.createTempFile("policy-import-", "." + format.name().toLowerCase());
+        try {
+            Files.copy(input, spool, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(spool);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), format, maxErrors);
+        jobs.put(job.getId(), job);
+        executor.execute(() -> run(job, spool));
+        log.info("Queued import job {} ({} bytes of {})", job.getId(), Files.size(spool), format);
+        return job.toDTO();
+    }
+
+    @Override
+    public ImportJobDTO getJob(String jobId) {
+        ImportJob job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new ImportJobNotFoundException("Import job not found: " + jobId);
+        }
+        return job.toDTO();
+    }
+
+    @Override
+    public List<ImportJobDTO> getJobs() {
+        return jobs.asMap().values().stream()
+                .sorted(Comparator.comparing(ImportJob::getSubmittedAt).reversed())
+                .map(ImportJob::toDTO)
+                .toList();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void run(ImportJob job, Path spool) {
+        job.start();
+        List<Future<?>> pending = new ArrayList<>();
+        try (InputStream in = Files.newInputStream(spool);
+             MappingIterator<AutoPolicyDTO> records = recordReader.open(in, job.getFormat())) {
+            Set<String> seen = new HashSet<>();
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            long record = 0;
+            while (records.hasNextValue()) {
+                AutoPolicyDTO policy = records.nextValue();
+                record++;
+                job.received();
+
+                String invalidReason = PolicyChunkWriter.invalidReason(policy);
+                if (invalidReason != null) {
+                    job.invalid(record, policy.getPolicyNumber(), invalidReason);
+                } else if (!seen.add(policy.getPolicyNumber())) {
+                    job.duplicate(record, policy.getPolicyNumber(), "Policy number repeated in the file");
+                } else {
+                    chunk.add(new Row(record, policy));
+                    if (chunk.size() == chunkSize) {
+                        pending.add(dispatch(job, chunk));
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                pending.add(dispatch(job, chunk));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Import interrupted");
+        } catch (IOException | RuntimeException e) {
+            log.warn("Import job {} stopped reading after {} records: {}",
+                    job.getId(), job.toDTO().getReceived(), e.getMessage());
+            job.fail(e.getMessage());
+        }
+
+        awaitAll(pending);
+        // Bulk writes invalidate list caches once instead of per chunk
+        chunkWriter.invalidateListCaches();
+        job.finish();
+        deleteQuietly(spool);
+        log.info("Import job {} finished as {}", job.getId(), job.toDTO().getStatus());
+    }
+
+    private Future<?> dispatch(ImportJob job, List<Row> chunk) throws InterruptedException {
+        writePermits.acquire();
+        try {
+            return executor.submit(() -> {
+                try {
+                    writeChunk(job, chunk);
+                } finally {
+                    writePermits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            writePermits.release();
+            throw e;
+        }
+    }
+
+    private void writeChunk(ImportJob job, List<Row> chunk) {
+        try {
+            PolicyChunkWriter.ChunkResult result = chunkWriter.write(
+                    chunk.stream().map(Row::policy).toList());
+            job.chunkCommitted(result.inserted());
+            for (Row row : chunk) {
+                if (result.existing().contains(row.policy().getPolicyNumber())) {
+                    job.duplicate(row.record(), row.policy().getPolicyNumber(), "Policy number already exists");
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Import job {} chunk starting at record {} failed: {}",
+                    job.getId(), chunk.get(0).record(), e.getMessage());
+            job.chunkFailed(chunk.get(0).record(), chunk.get(chunk.size() - 1).record(), chunk.size(), e.getMessage());
+        }
+    }
+
+    private void awaitAll(List<Future<?>> pending) {
+        for (Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // writeChunk records its own failures
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path spool) {
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException e) {
+            log.warn("Could not delete import spool file {}: {}", spool, e.getMessage());
+        }
+    }
+
+    private record Row(long record, AutoPolicyDTO policy) {
+    }
+}
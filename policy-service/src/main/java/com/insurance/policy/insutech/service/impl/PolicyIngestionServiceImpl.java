@@ -0,0 +1,87 @@
+package com.insurance.policy.insutech.service.impl;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.IngestionProgressDTO;
+import com.insurance.policy.insutech.ingest.IngestFormat;
+import com.insurance.policy.insutech.ingest.PolicyChunkWriter;
+import com.insurance.policy.insutech.ingest.PolicyRecordReader;
+import com.insurance.policy.insutech.service.PolicyIngestionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@Slf4j
+@Service
+public class PolicyIngestionServiceImpl implements PolicyIngestionService {
+
+    private final PolicyRecordReader recordReader;
+    private final PolicyChunkWriter chunkWriter;
+    private final int chunkSize;
+
+    public PolicyIngestionServiceImpl(PolicyRecordReader recordReader,
+                                      PolicyChunkWriter chunkWriter,
+                                      @Value("${policy.ingest.chunk-size:1000}") int chunkSize) {
+        this.recordReader = recordReader;
+        this.chunkWriter = chunkWriter;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public IngestionProgressDTO ingest(InputStream input, IngestFormat format, Consumer<IngestionProgressDTO> progress) {
+        IngestionProgressDTO totals = new IngestionProgressDTO();
+        try (MappingIterator<AutoPolicyDTO> records = recordReader.open(input, format)) {
+            List<AutoPolicyDTO> chunk = new ArrayList<>(chunkSize);
+            while (records.hasNextValue()) {
+                chunk.add(records.nextValue());
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, totals);
+                    progress.accept(totals);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, totals);
+                progress.accept(totals);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Bulk ingestion stopped after {} records: {}", totals.getReceived(), e.getMessage());
+            totals.setError(e.getMessage());
+        } finally {
+            // Bulk writes invalidate list caches once instead of per policy
+            chunkWriter.invalidateListCaches();
+        }
+        totals.setDone(true);
+        progress.accept(totals);
+        return totals;
+    }
+
+    private void writeChunk(List<AutoPolicyDTO> chunk, IngestionProgressDTO totals) {
+        totals.setChunks(totals.getChunks() + 1);
+        totals.setReceived(totals.getReceived() + chunk.size());
+
+        List<AutoPolicyDTO> candidates = new ArrayList<>(chunk.size());
+        Set<String> seen = new HashSet<>();
+        for (AutoPolicyDTO policy : chunk) {
+            if (PolicyChunkWriter.invalidReason(policy) != null) {
+                totals.setInvalid(totals.getInvalid() + 1);
+            } else if (!seen.add(policy.getPolicyNumber())) {
+                totals.setDuplicates(totals.getDuplicates() + 1);
+            } else {
+                candidates.add(policy);
+            }
+        }
+
+        PolicyChunkWriter.ChunkResult result = chunkWriter.write(candidates);
+        totals.setInserted(totals.getInserted() + result.inserted());
+        totals.setDuplicates(totals.getDuplicates() + result.existing().size());
+    }
+}
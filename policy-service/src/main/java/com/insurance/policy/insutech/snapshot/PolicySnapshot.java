@@ -0,0 +1,467 @@
+package com.insurance.policy.insutech.snapshot;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.event.PoliciesImportedEvent;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import com.insurance.policy.insutech.filter.PolicyFilter;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory, column-oriented copy of the policy book that answers /filter without the
+ * database. Enabled with {@code policy.snapshot.enabled}; until it has been loaded, and
+ * whenever it is disabled, filters run as JPA queries.
+ *
+ * <p>Each property is a primitive array indexed by row: status and type as byte
+ * ordinals, dates as epoch days, the premium as cents, and vehicle and holder names as
+ * {@link StringDictionary} ids. Null is a sentinel that fails every comparison, which
+ * gives the same semantics as {@link PolicyFilter#matches}. A filter is evaluated one
+ * column at a time over 64-row words, producing a match bitmap; substring criteria are
+ * evaluated once per dictionary entry. Large tables are scanned in parallel, one slice
+ * of words per task.
+ *
+ * <p>The snapshot applies {@link PolicyChangedEvent}s and {@link PoliciesImportedEvent}s
+ * as they commit. Rows of deleted policies are cleared from the live bitmap but their
+ * slots are not reused, so results keep id order for the loaded rows.
+ */
+@Slf4j
+@Component
+public class PolicySnapshot {
+
+    static final int PARALLEL_THRESHOLD = 1 << 16;     // rows; below this one thread is faster
+    private static final int WORDS_PER_TASK = 256;     // 16,384 rows per parallel task
+    private static final int LOAD_BATCH_SIZE = 4096;   // rows added per write-lock hold while loading
+
+    private static final byte NULL_CODE = -1;
+    private static final int NULL_START = Integer.MIN_VALUE;  // fails every lower bound
+    private static final int NULL_END = Integer.MAX_VALUE;    // fails every upper bound
+    private static final long NULL_LONG = Long.MIN_VALUE;
+
+    private static final PolicyStatus[] STATUSES = PolicyStatus.values();
+    private static final AutoPolicyType[] TYPES = AutoPolicyType.values();
+
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+    private final Set<Long> deletedWhileLoading = new HashSet<>();
+
+    private final LongIntMap rowsById = new LongIntMap();
+    private final StringDictionary makes = new StringDictionary();
+    private final StringDictionary models = new StringDictionary();
+    private final StringDictionary years = new StringDictionary();
+    private final StringDictionary firstNames = new StringDictionary();
+    private final StringDictionary lastNames = new StringDictionary();
+
+    private int rows;   // allocated rows, including deleted ones
+    private long[] liveRows = new long[0];
+    private long[] ids = new long[0];
+    private long[] versions = new long[0];
+    private long[] userIds = new long[0];
+    private long[] premiumCents = new long[0];
+    private int[] startDays = new int[0];
+    private int[] endDays = new int[0];
+    private byte[] statuses = new byte[0];
+    private byte[] types = new byte[0];
+    private int[] makeIds = new int[0];
+    private int[] modelIds = new int[0];
+    private int[] yearIds = new int[0];
+    private int[] firstNameIds = new int[0];
+    private int[] lastNameIds = new int[0];
+    private String[] policyNumbers = new String[0];
+
+    public PolicySnapshot(@Value("${policy.snapshot.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Whether the initial load has finished and filters can be served from memory. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** Number of live policies held. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Fill the snapshot from a full scan and mark it ready. Changes committed while the
+     * scan runs are applied as they arrive; a scanned row never overwrites a newer version
+     * and policies deleted meanwhile are skipped.
+     *
+     * @param source streams every stored policy to the given consumer
+     */
+    public void load(Consumer<Consumer<AutoPolicyDTO>> source) {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        List<AutoPolicyDTO> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+        source.accept(policy -> {
+            batch.add(policy);
+            if (batch.size() == LOAD_BATCH_SIZE) {
+                addLoaded(batch);
+                batch.clear();
+            }
+        });
+        addLoaded(batch);
+
+        lock.writeLock().lock();
+        try {
+            deletedWhileLoading.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Policy snapshot loaded: {} policies in {} ms", size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (event.isDelete()) {
+                remove(event.policyId());
+                if (!ready) {
+                    deletedWhileLoading.add(event.policyId());
+                }
+            } else {
+                upsert(event.policy());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPoliciesImported(PoliciesImportedEvent event) {
+        applyAll(event.policies());
+    }
+
+    /**
+     * Add or replace policies written outside the entity path once their transaction has
+     * committed.
+     */
+    public void applyAll(Collection<AutoPolicyDTO> policies) {
+        if (!enabled || policies.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            policies.forEach(this::upsert);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Evaluate the filter against the snapshot.
+     *
+     * @return matching policies in row order
+     */
+    public List<AutoPolicyDTO> filter(PolicyFilter filter) {
+        lock.readLock().lock();
+        try {
+            Scan scan = new Scan(filter);
+            if (scan.empty) {
+                return List.of();
+            }
+            int words = (rows + 63) >>> 6;
+            long[] hits = new long[words];
+            if (rows < PARALLEL_THRESHOLD) {
+                scan.run(hits, 0, words);
+            } else {
+                int tasks = (words + WORDS_PER_TASK - 1) / WORDS_PER_TASK;
+                // Tasks write disjoint words; the read lock keeps writers out until they finish
+                IntStream.range(0, tasks).parallel().forEach(task -> scan.run(hits, task * WORDS_PER_TASK,
+                        Math.min(words, (task + 1) * WORDS_PER_TASK)));
+            }
+            return materialize(hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addLoaded(List<AutoPolicyDTO> batch) {
+        lock.writeLock().lock();
+        try {
+            for (AutoPolicyDTO policy : batch) {
+                if (!deletedWhileLoading.contains(policy.getId())) {
+                    upsert(policy);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void upsert(AutoPolicyDTO policy) {
+        int row = rowsById.get(policy.getId());
+        if (row == LongIntMap.MISSING) {
+            row = appendRow();
+            rowsById.put(policy.getId(), row);
+            liveRows[row >>> 6] |= 1L << row;
+        } else if (policy.getVersion() != null && versions[row] != NULL_LONG && policy.getVersion() < versions[row]) {
+            return; // older than what is held
+        }
+        ids[row] = policy.getId();
+        versions[row] = policy.getVersion() != null ? policy.getVersion() : NULL_LONG;
+        userIds[row] = policy.getUserId() != null ? policy.getUserId() : NULL_LONG;
+        premiumCents[row] = cents(policy.getPremiumAmount());
+        startDays[row] = policy.getStartDate() != null ? (int) policy.getStartDate().toEpochDay() : NULL_START;
+        endDays[row] = policy.getEndDate() != null ? (int) policy.getEndDate().toEpochDay() : NULL_END;
+        statuses[row] = policy.getStatus() != null ? (byte) policy.getStatus().ordinal() : NULL_CODE;
+        types[row] = policy.getPolicyType() != null ? (byte) policy.getPolicyType().ordinal() : NULL_CODE;
+        makeIds[row] = makes.encode(policy.getVehicleMake());
+        modelIds[row] = models.encode(policy.getVehicleModel());
+        yearIds[row] = years.encode(policy.getVehicleYear());
+        firstNameIds[row] = firstNames.encode(policy.getFirstName());
+        lastNameIds[row] = lastNames.encode(policy.getLastName());
+        policyNumbers[row] = policy.getPolicyNumber();
+    }
+
+    private void remove(Long id) {
+        int row = rowsById.remove(id);
+        if (row != LongIntMap.MISSING) {
+            liveRows[row >>> 6] &= ~(1L << row);
+            policyNumbers[row] = null;
+        }
+    }
+
+    private int appendRow() {
+        if (rows == ids.length) {
+            int capacity = Math.max(1024, ids.length * 2);
+            liveRows = Arrays.copyOf(liveRows, (capacity + 63) >>> 6);
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            userIds = Arrays.copyOf(userIds, capacity);
+            premiumCents = Arrays.copyOf(premiumCents, capacity);
+            startDays = Arrays.copyOf(startDays, capacity);
+            endDays = Arrays.copyOf(endDays, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            types = Arrays.copyOf(types, capacity);
+            makeIds = Arrays.copyOf(makeIds, capacity);
+            modelIds = Arrays.copyOf(modelIds, capacity);
+            yearIds = Arrays.copyOf(yearIds, capacity);
+            firstNameIds = Arrays.copyOf(firstNameIds, capacity);
+            lastNameIds = Arrays.copyOf(lastNameIds, capacity);
+            policyNumbers = Arrays.copyOf(policyNumbers, capacity);
+        }
+        return rows++;
+    }
+
+    private List<AutoPolicyDTO> materialize(long[] hits) {
+        int count = 0;
+        for (long word : hits) {
+            count += Long.bitCount(word);
+        }
+        List<AutoPolicyDTO> result = new ArrayList<>(count);
+        for (int w = 0; w < hits.length; w++) {
+            for (long word = hits[w]; word != 0; word &= word - 1) {
+                result.add(toDTO((w << 6) + Long.numberOfTrailingZeros(word)));
+            }
+        }
+        return result;
+    }
+
+    private AutoPolicyDTO toDTO(int row) {
+        AutoPolicyDTO policy = new AutoPolicyDTO();
+        policy.setId(ids[row]);
+        policy.setVersion(versions[row] != NULL_LONG ? versions[row] : null);
+        policy.setPolicyNumber(policyNumbers[row]);
+        policy.setUserId(userIds[row] != NULL_LONG ? userIds[row] : null);
+        policy.setStatus(statuses[row] != NULL_CODE ? STATUSES[statuses[row]] : null);
+        policy.setPolicyType(types[row] != NULL_CODE ? TYPES[types[row]] : null);
+        policy.setStartDate(startDays[row] != NULL_START ? LocalDate.ofEpochDay(startDays[row]) : null);
+        policy.setEndDate(endDays[row] != NULL_END ? LocalDate.ofEpochDay(endDays[row]) : null);
+        policy.setPremiumAmount(premiumCents[row] != NULL_LONG ? BigDecimal.valueOf(premiumCents[row], 2) : null);
+        policy.setVehicleMake(makes.decode(makeIds[row]));
+        policy.setVehicleModel(models.decode(modelIds[row]));
+        policy.setVehicleYear(years.decode(yearIds[row]));
+        policy.setFirstName(firstNames.decode(firstNameIds[row]));
+        policy.setLastName(lastNames.decode(lastNameIds[row]));
+        return policy;
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount != null ? amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact() : NULL_LONG;
+    }
+
+    /**
+     * A filter compiled against the current dictionaries. Bounds are converted to the
+     * column encodings once; {@link #empty} is set when a criterion can match no row.
+     */
+    private final class Scan {
+
+        private final boolean hasStart;
+        private final boolean hasEnd;
+        private final boolean hasMinPremium;
+        private final boolean hasMaxPremium;
+        private final boolean hasUserId;
+        private final int startDay;
+        private final int endDay;
+        private final long minCents;
+        private final long maxCents;
+        private final long userId;
+        private final byte status;
+        private final byte type;
+        private final boolean[] makeMatches;
+        private final boolean[] firstNameMatches;
+        private final boolean[] lastNameMatches;
+        private final boolean empty;
+
+        Scan(PolicyFilter filter) {
+            hasStart = filter.startDate() != null;
+            hasEnd = filter.endDate() != null;
+            hasMinPremium = filter.minPremium() != null;
+            hasMaxPremium = filter.maxPremium() != null;
+            hasUserId = filter.userId() != null;
+            startDay = hasStart ? (int) filter.startDate().toEpochDay() : 0;
+            endDay = hasEnd ? (int) filter.endDate().toEpochDay() : 0;
+            // Premiums are whole cents, so fractional bounds round inwards
+            minCents = hasMinPremium ? filter.minPremium().movePointRight(2).setScale(0, RoundingMode.CEILING).longValue() : 0;
+            maxCents = hasMaxPremium ? filter.maxPremium().movePointRight(2).setScale(0, RoundingMode.FLOOR).longValue() : 0;
+            userId = hasUserId ? filter.userId() : 0;
+            status = filter.status() != null ? (byte) filter.status().ordinal() : NULL_CODE;
+            type = filter.type() != null ? (byte) filter.type().ordinal() : NULL_CODE;
+            makeMatches = filter.vehicleMake() != null ? makes.containing(filter.vehicleMake()) : null;
+            firstNameMatches = filter.firstName() != null ? firstNames.containing(filter.firstName()) : null;
+            lastNameMatches = filter.lastName() != null ? lastNames.containing(filter.lastName()) : null;
+            empty = filter.vehicleMake() != null && makeMatches == null
+                    || filter.firstName() != null && firstNameMatches == null
+                    || filter.lastName() != null && lastNameMatches == null;
+        }
+
+        void run(long[] hits, int fromWord, int toWord) {
+            for (int w = fromWord; w < toWord; w++) {
+                hits[w] = match(w);
+            }
+        }
+
+        /** Rows of word {@code w} that are live and satisfy every criterion, one bit per row. */
+        private long match(int w) {
+            long bits = liveRows[w];
+            int base = w << 6;
+            int n = Math.min(64, rows - base);
+            if (bits != 0 && status != NULL_CODE) {
+                bits &= byteEquals(statuses, base, n, status);
+            }
+            if (bits != 0 && type != NULL_CODE) {
+                bits &= byteEquals(types, base, n, type);
+            }
+            if (bits != 0 && hasUserId) {
+                bits &= longEquals(userIds, base, n, userId);
+            }
+            if (bits != 0 && hasStart) {
+                bits &= intAtLeast(startDays, base, n, startDay);
+            }
+            if (bits != 0 && hasEnd) {
+                bits &= intAtMost(endDays, base, n, endDay);
+            }
+            if (bits != 0 && hasMinPremium) {
+                bits &= longAtLeast(premiumCents, base, n, minCents);
+            }
+            if (bits != 0 && hasMaxPremium) {
+                bits &= longAtMost(premiumCents, base, n, maxCents);
+            }
+            if (bits != 0 && makeMatches != null) {
+                bits &= dictionaryMatches(makeIds, base, n, makeMatches);
+            }
+            if (bits != 0 && firstNameMatches != null) {
+                bits &= dictionaryMatches(firstNameIds, base, n, firstNameMatches);
+            }
+            if (bits != 0 && lastNameMatches != null) {
+                bits &= dictionaryMatches(lastNameIds, base, n, lastNameMatches);
+            }
+            return bits;
+        }
+    }
+
+    // Branch-free column kernels: bit i of the result is set when row base + i qualifies
+
+    private static long byteEquals(byte[] column, int base, int n, byte value) {
+        long bits = 0;
+        for (int i = 0; i < n; i++) {
+            bits |= (column[base + i] == value ? 1L : 0L) << i;
+        }
+        return bits;
+    }
+
+    private static long longEquals(long[] column, int base, int n, long value) {
+        long bits = 0;
+        for (int i = 0; i < n; i++) {
+            bits |= (column[base + i] == value ? 1L : 0L) << i;
+        }
+        return bits;
+    }
+
+    private static long intAtLeast(int[] column, int base, int n, int bound) {
+        long bits = 0;
+        for (int i = 0; i < n; i++) {
+            bits |= (column[base + i] >= bound ? 1L : 0L) << i;
+        }
+        return bits;
+    }
+
+    private static long intAtMost(int[] column, int base, int n, int bound) {
+        long bits = 0;
+        for (int i = 0; i < n; i++) {
+            bits |= (column[base + i] <= bound ? 1L : 0L) << i;
+        }
+        return bits;
+    }
+
+    private static long longAtLeast(long[] column, int base, int n, long bound) {
+        long bits = 0;
+        for (int i = 0; i < n; i++) {
+            bits |= (column[base + i] >= bound ? 1L : 0L) << i;
+        }
+        return bits;
+    }
+
+    private static long longAtMost(long[] column, int base, int n, long bound) {
+        long bits = 0;
+        for (int i = 0; i < n; i++) {
+            long value = column[base + i];
+            bits |= (value <= bound && value != NULL_LONG ? 1L : 0L) << i;
+        }
+        return bits;
+    }
+
+    private static long dictionaryMatches(int[] column, int base, int n, boolean[] matching) {
+        long bits = 0;
+        for (int i = 0; i < n; i++) {
+            int id = column[base + i];
+            bits |= (id != StringDictionary.NULL_ID && matching[id] ? 1L : 0L) << i;
+        }
+        return bits;
+    }
+}
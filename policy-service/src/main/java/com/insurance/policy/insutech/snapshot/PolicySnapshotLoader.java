@@ -0,0 +1,35 @@
+package com.insurance.policy.insutech.snapshot;
+
+import com.insurance.policy.insutech.service.AutoPolicyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the {@link PolicySnapshot} in the background once the application is up, so
+ * startup is not held back by a large book; /filter uses JPA until the load completes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PolicySnapshotLoader {
+
+    private final PolicySnapshot policySnapshot;
+    private final AutoPolicyService autoPolicyService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!policySnapshot.isEnabled()) {
+            return;
+        }
+        Thread.ofVirtual().name("policy-snapshot-loader").start(() -> {
+            try {
+                policySnapshot.load(autoPolicyService::streamAllPolicies);
+            } catch (RuntimeException e) {
+                log.error("Policy snapshot load failed; /filter stays on JPA", e);
+            }
+        });
+    }
+}
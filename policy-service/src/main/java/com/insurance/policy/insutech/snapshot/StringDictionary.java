@@ -0,0 +1,61 @@
+package com.insurance.policy.insutech.snapshot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Dictionary encoding for a low-cardinality text column: each distinct value gets a
+ * dense int id, null is {@code -1}. Entries are never removed, so ids stay valid for the
+ * lifetime of the snapshot. Not thread-safe; {@link PolicySnapshot} guards it.
+ */
+final class StringDictionary {
+
+    static final int NULL_ID = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    private final List<String> lowered = new ArrayList<>();
+
+    int encode(String value) {
+        if (value == null) {
+            return NULL_ID;
+        }
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = values.size();
+            ids.put(value, id);
+            values.add(value);
+            lowered.add(value.toLowerCase(Locale.ROOT));
+        }
+        return id;
+    }
+
+    String decode(int id) {
+        return id == NULL_ID ? null : values.get(id);
+    }
+
+    /**
+     * Evaluate a substring criterion once per distinct value instead of once per row.
+     *
+     * @param needle lower-cased substring, as held by {@code PolicyFilter}
+     * @return flags indexed by id, or null when no value contains the needle
+     */
+    boolean[] containing(String needle) {
+        boolean[] matching = new boolean[values.size()];
+        boolean any = false;
+        for (int id = 0; id < matching.length; id++) {
+            if (lowered.get(id).contains(needle)) {
+                matching[id] = true;
+                any = true;
+            }
+        }
+        return any ? matching : null;
+    }
+
+    int size() {
+        return values.size();
+    }
+}
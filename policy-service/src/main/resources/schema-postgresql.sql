@@ -0,0 +1,56 @@
+-- Schema migrations applied after Hibernate's ddl-auto update (see spring.sql.init in application.yml).
+-- Every statement must be idempotent: this script runs on each startup.
+
+-- Substring search on /api/v1/policies/filter compares lower(column) LIKE '%x%'.
+-- Trigram GIN indexes on the same expressions let PostgreSQL serve those predicates.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_auto_policies_vehicle_make_trgm
+    ON auto_policies USING gin (lower(vehicle_make) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_auto_policies_first_name_trgm
+    ON auto_policies USING gin (lower(first_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_auto_policies_last_name_trgm
+    ON auto_policies USING gin (lower(last_name) gin_trgm_ops);
+
+-- Equality on status/type followed by a start-date range is the most common filter shape.
+CREATE INDEX IF NOT EXISTS idx_auto_policies_status_type_start
+    ON auto_policies (status, policy_type, start_date);
+
+CREATE INDEX IF NOT EXISTS idx_auto_policies_user_id
+    ON auto_policies (user_id);
+
+-- Ids come from policy_id_seq (allocation size 50, pooled-lo) instead of an IDENTITY column,
+-- so Hibernate and AutoPolicyBatchWriter can batch inserts. Tables created before the switch
+-- lose their identity default, and the sequence is moved past the existing ids. The setval only
+-- fires while the sequence is behind the table, so it never rewinds a running allocation.
+CREATE SEQUENCE IF NOT EXISTS policy_id_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE auto_policies ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE auto_policies ALTER COLUMN id DROP DEFAULT;
+
+SELECT setval('policy_id_seq', (SELECT COALESCE(MAX(id), 1) FROM auto_policies))
+WHERE (SELECT NOT is_called FROM policy_id_seq)
+   OR (SELECT COALESCE(MAX(id), 0) FROM auto_policies) >= (SELECT last_value + 50 FROM policy_id_seq);
+
+-- Optimistic locking: rows written before the version column existed start at 0, and
+-- AutoPolicyBatchWriter relies on the default for the rows it inserts.
+UPDATE auto_policies SET version = 0 WHERE version IS NULL;
+ALTER TABLE auto_policies ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE auto_policies ALTER COLUMN version SET NOT NULL;
+
+-- Transactional outbox: one row per policy write, inserted in the writing transaction.
+-- PolicyOutboxRelay assigns published_seq in order when it publishes a row; the unique
+-- index on it serves GET /api/v1/policies/changes, the partial index the relay's poll.
+CREATE TABLE IF NOT EXISTS policy_outbox (
+    id             BIGSERIAL   PRIMARY KEY,
+    policy_id      BIGINT      NOT NULL,
+    change_type    VARCHAR(16) NOT NULL,
+    policy_version BIGINT,
+    payload        TEXT,
+    created_at     TIMESTAMPTZ NOT NULL,
+    published_seq  BIGINT      UNIQUE,
+    published_at   TIMESTAMPTZ
+);
+
+CREATE INDEX IF NOT EXISTS idx_policy_outbox_unpublished
+    ON policy_outbox (id) WHERE published_seq IS NULL;
@@ -0,0 +1,139 @@
+package com.insurance.policy.insutech.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.insurance.policy.insutech.config.CacheConfig;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.event.PoliciesImportedEvent;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import com.insurance.policy.insutech.filter.PolicyFilter;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.search.PolicySearchIndex;
+import com.insurance.policy.insutech.snapshot.PolicySnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ClusterCacheInvalidatorTest {
+
+    private static final String CHANNEL = "policy-cache-invalidation";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final PolicyFilter activeFilter = PolicyFilter.of(null, null, PolicyStatus.ACTIVE, null, null, null, null, null, null, null);
+
+    private Node writer;
+    private Node peer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new Node();
+        peer = new Node();
+    }
+
+    @Test
+    void shouldBatchLocalWritesAndPatchPeerCaches() {
+        peer.policies.put(1L, policy(1L, 0L, PolicyStatus.ACTIVE));
+        peer.allPolicies.put("all", List.of(policy(1L, 0L, PolicyStatus.ACTIVE)));
+        peer.filtered.get(activeFilter, filter -> List.of(policy(1L, 0L, PolicyStatus.ACTIVE)));
+
+        writer.invalidator.onPolicyChanged(PolicyChangedEvent.updated(policy(1L, 1L, PolicyStatus.CANCELLED)));
+        writer.invalidator.onPoliciesImported(new PoliciesImportedEvent(List.of(
+                policy(2L, 0L, PolicyStatus.ACTIVE), policy(3L, 0L, PolicyStatus.ACTIVE))));
+        List<String> messages = writer.flush();
+
+        assertEquals(2, messages.size()); // three changes, at most two per message
+        messages.forEach(peer::receive);
+
+        assertEquals(1L, peer.policies.get(1L, AutoPolicyDTO.class).getVersion());
+        assertNull(peer.allPolicies.get("all"));
+        assertEquals(List.of(2L, 3L), peer.filtered.get(activeFilter, filter -> List.of()).stream()
+                .map(AutoPolicyDTO::getId).toList());
+        verify(peer.snapshot).onPolicyChanged(any(PolicyChangedEvent.class));
+        verify(peer.snapshot, times(2)).onPoliciesImported(any(PoliciesImportedEvent.class)); // one per message
+        verify(peer.searchIndex).onPolicyChanged(any(PolicyChangedEvent.class));
+    }
+
+    @Test
+    void shouldIgnoreOwnMessagesAndChangesAlreadySeen() {
+        writer.invalidator.onPolicyChanged(PolicyChangedEvent.updated(policy(1L, 2L, PolicyStatus.ACTIVE)));
+        String message = writer.flush().get(0);
+        writer.receive(message);
+        peer.receive(message);
+        peer.receive(message);
+        verify(writer.snapshot, never()).onPolicyChanged(any());
+        verify(peer.snapshot, times(1)).onPolicyChanged(any());
+
+        // An older version arriving late is dropped
+        writer.invalidator.onPolicyChanged(PolicyChangedEvent.updated(policy(1L, 1L, PolicyStatus.CANCELLED)));
+        peer.receive(writer.flush().get(0));
+        verify(peer.snapshot, times(1)).onPolicyChanged(any());
+    }
+
+    @Test
+    void shouldRefuseCopyLoadedBeforeRemoteWriteOrDelete() {
+        writer.invalidator.onPolicyChanged(PolicyChangedEvent.updated(policy(1L, 4L, PolicyStatus.ACTIVE)));
+        writer.invalidator.onPolicyChanged(PolicyChangedEvent.deleted(2L));
+        writer.flush().forEach(peer::receive);
+
+        // Loads that read the database before the writes committed finish now
+        peer.policies.put(1L, policy(1L, 3L, PolicyStatus.ACTIVE));
+        peer.policies.put(2L, policy(2L, 0L, PolicyStatus.ACTIVE));
+        peer.allPolicies.put("all", List.of(policy(2L, 0L, PolicyStatus.ACTIVE)));
+
+        // Refused copies are evicted; the next read loads the current version
+        assertNull(peer.policies.get(1L));
+        assertNull(peer.policies.get(2L));
+        assertNull(peer.allPolicies.get("all"));
+    }
+
+    private static AutoPolicyDTO policy(Long id, Long version, PolicyStatus status) {
+        AutoPolicyDTO policy = new AutoPolicyDTO();
+        policy.setId(id);
+        policy.setVersion(version);
+        policy.setPolicyNumber("AP-" + id);
+        policy.setStatus(status);
+        return policy;
+    }
+
+    /** One policy-service instance: its caches and an invalidator publishing to a mocked Redis. */
+    private class Node {
+
+        final PolicyVersionStamps stamps = new PolicyVersionStamps();
+        final CacheManager cacheManager = new CacheConfig().cacheManager(stamps);
+        final Cache policies = cacheManager.getCache("policies");
+        final Cache allPolicies = cacheManager.getCache("allPolicies");
+        final FilteredPolicyCache filtered = new FilteredPolicyCache();
+        final PolicySnapshot snapshot = mock(PolicySnapshot.class);
+        final PolicySearchIndex searchIndex = mock(PolicySearchIndex.class);
+        final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        final ClusterCacheInvalidator invalidator = new ClusterCacheInvalidator(redisTemplate, objectMapper, CHANNEL, 2, 100,
+                stamps,
+                new PolicyNumberIndex(policies, cacheManager.getCache("policyNumbers"), Caffeine.newBuilder().build()),
+                filtered, cacheManager, snapshot, searchIndex);
+
+        List<String> flush() {
+            clearInvocations(redisTemplate);
+            invalidator.flush();
+            ArgumentCaptor<String> messages = ArgumentCaptor.forClass(String.class);
+            verify(redisTemplate, atLeast(0)).convertAndSend(eq(CHANNEL), messages.capture());
+            return messages.getAllValues();
+        }
+
+        void receive(String message) {
+            invalidator.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                    message.getBytes(StandardCharsets.UTF_8)), null);
+        }
+    }
+}
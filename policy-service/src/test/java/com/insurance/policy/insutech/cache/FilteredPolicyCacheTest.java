@@ -0,0 +1,87 @@
+package com.insurance.policy.insutech.cache;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import com.insurance.policy.insutech.filter.PolicyFilter;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilteredPolicyCacheTest {
+
+    private final PolicyFilter activeFilter = PolicyFilter.of(null, null, PolicyStatus.ACTIVE, null, null, null, null, null, null, null);
+    private final PolicyFilter fordFilter = PolicyFilter.of(null, null, null, null, "ford", null, null, null, null, null);
+
+    private FilteredPolicyCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new FilteredPolicyCache();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void shouldServeRepeatedFilterFromCache() {
+        cache.get(activeFilter, f -> load(policy(1L, PolicyStatus.ACTIVE, "Ford")));
+        cache.get(activeFilter, f -> load(policy(1L, PolicyStatus.ACTIVE, "Ford")));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldRemovePolicyThatNoLongerMatchesAndLeaveOtherEntriesAlone() {
+        cache.get(activeFilter, f -> load(policy(1L, PolicyStatus.ACTIVE, "Ford"), policy(2L, PolicyStatus.ACTIVE, "Honda")));
+        cache.get(fordFilter, f -> load(policy(1L, PolicyStatus.ACTIVE, "Ford")));
+
+        cache.onPolicyChanged(PolicyChangedEvent.updated(policy(2L, PolicyStatus.CANCELLED, "Honda")));
+
+        List<AutoPolicyDTO> active = cache.get(activeFilter, f -> load());
+        List<AutoPolicyDTO> ford = cache.get(fordFilter, f -> load());
+        assertEquals(2, loads.get());
+        assertEquals(List.of(1L), active.stream().map(AutoPolicyDTO::getId).toList());
+        assertEquals(List.of(1L), ford.stream().map(AutoPolicyDTO::getId).toList());
+    }
+
+    @Test
+    void shouldAddNewlyMatchingPolicyAndDropDeletedOne() {
+        cache.get(fordFilter, f -> load(policy(1L, PolicyStatus.ACTIVE, "Ford")));
+
+        cache.onPolicyChanged(PolicyChangedEvent.created(policy(3L, PolicyStatus.EXPIRED, "FORD")));
+        cache.onPolicyChanged(PolicyChangedEvent.deleted(1L));
+
+        List<AutoPolicyDTO> ford = cache.get(fordFilter, f -> load());
+        assertEquals(1, loads.get());
+        assertEquals(List.of(3L), ford.stream().map(AutoPolicyDTO::getId).toList());
+    }
+
+    @Test
+    void shouldNotCacheResultLoadedConcurrentlyWithWrite() {
+        cache.get(activeFilter, f -> {
+            cache.onPolicyChanged(PolicyChangedEvent.created(policy(9L, PolicyStatus.ACTIVE, "Kia")));
+            return load();
+        });
+
+        cache.get(activeFilter, f -> load(policy(9L, PolicyStatus.ACTIVE, "Kia")));
+        assertEquals(2, loads.get());
+    }
+
+    private List<AutoPolicyDTO> load(AutoPolicyDTO... policies) {
+        loads.incrementAndGet();
+        return List.of(policies);
+    }
+
+    private AutoPolicyDTO policy(Long id, PolicyStatus status, String make) {
+        AutoPolicyDTO dto = new AutoPolicyDTO();
+        dto.setId(id);
+        dto.setPolicyNumber("AP-" + id);
+        dto.setStatus(status);
+        dto.setVehicleMake(make);
+        return dto;
+    }
+}
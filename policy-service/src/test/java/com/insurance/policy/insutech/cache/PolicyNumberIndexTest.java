@@ -0,0 +1,86 @@
+package com.insurance.policy.insutech.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolicyNumberIndexTest {
+
+    private Cache policies;
+    private Cache policyNumbers;
+    private PolicyNumberIndex index;
+
+    @BeforeEach
+    void setUp() {
+        policies = new CaffeineCache("policies", Caffeine.newBuilder().build());
+        policyNumbers = new CaffeineCache("policyNumbers", Caffeine.newBuilder().build());
+        index = new PolicyNumberIndex(policies, policyNumbers, Caffeine.newBuilder().build());
+    }
+
+    @Test
+    void shouldReplaceOnlyTheUpdatedPolicyNumberEntry() {
+        cacheByNumber(policy(1L, "AP-1"));
+        cacheByNumber(policy(2L, "AP-2"));
+
+        index.onPolicyChanged(PolicyChangedEvent.updated(policy(1L, "AP-1")));
+
+        assertNotNull(policyNumbers.get("AP-1"));
+        assertNotNull(policyNumbers.get("AP-2"));
+        assertEquals("AP-1", policies.get(1L, AutoPolicyDTO.class).getPolicyNumber());
+    }
+
+    @Test
+    void shouldEvictOldNumberWhenPolicyNumberIsRenamed() {
+        cacheByNumber(policy(1L, "AP-1"));
+        cacheByNumber(policy(2L, "AP-2"));
+
+        index.onPolicyChanged(PolicyChangedEvent.updated(policy(1L, "AP-1-RENAMED")));
+
+        assertNull(policyNumbers.get("AP-1"));
+        assertNotNull(policyNumbers.get("AP-1-RENAMED"));
+        assertNotNull(policyNumbers.get("AP-2"));
+    }
+
+    @Test
+    void shouldEvictBothRegionsOnDelete() {
+        AutoPolicyDTO policy = policy(1L, "AP-1");
+        cacheByNumber(policy);
+        policies.put(1L, policy);
+        cacheByNumber(policy(2L, "AP-2"));
+
+        index.onPolicyChanged(PolicyChangedEvent.deleted(1L));
+
+        assertNull(policyNumbers.get("AP-1"));
+        assertNull(policies.get(1L));
+        assertNotNull(policyNumbers.get("AP-2"));
+    }
+
+    @Test
+    void shouldFallBackToScanningWhenIdIsNotIndexed() {
+        policyNumbers.put("AP-1", policy(1L, "AP-1"));
+        policyNumbers.put("AP-2", policy(2L, "AP-2"));
+
+        index.onPolicyChanged(PolicyChangedEvent.deleted(1L));
+
+        assertNull(policyNumbers.get("AP-1"));
+        assertNotNull(policyNumbers.get("AP-2"));
+    }
+
+    private void cacheByNumber(AutoPolicyDTO policy) {
+        policyNumbers.put(policy.getPolicyNumber(), policy);
+        index.record(policy);
+    }
+
+    private AutoPolicyDTO policy(Long id, String policyNumber) {
+        AutoPolicyDTO dto = new AutoPolicyDTO();
+        dto.setId(id);
+        dto.setPolicyNumber(policyNumber);
+        return dto;
+    }
+}
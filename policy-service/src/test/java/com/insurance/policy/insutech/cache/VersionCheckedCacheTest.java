@@ -0,0 +1,56 @@
+package com.insurance.policy.insutech.cache;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionCheckedCacheTest {
+
+    private final PolicyVersionStamps stamps = new PolicyVersionStamps();
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VersionCheckedCache(new ConcurrentMapCache("allPolicies"), stamps);
+        cache.put("all", List.of(policy(1L, 0L), policy(2L, 0L)));
+    }
+
+    @Test
+    void shouldEvictWhenTwoListPutsEachCarryADifferentStaleElement() {
+        // Two concurrent writers each updated one policy of the cached list
+        stamps.advance(1L, 1L);
+        stamps.advance(2L, 1L);
+
+        cache.put("all", List.of(policy(1L, 1L), policy(2L, 0L)));
+        assertNull(cache.get("all"), "the older cached list must not survive a refused put");
+
+        assertNull(cache.putIfAbsent("all", List.of(policy(1L, 0L), policy(2L, 1L))));
+        assertNull(cache.get("all"));
+
+        cache.put("all", List.of(policy(1L, 1L), policy(2L, 1L)));
+        assertNotNull(cache.get("all"));
+    }
+
+    @Test
+    void shouldEvictSinglePolicyOlderThanItsStamp() {
+        cache.put(1L, policy(1L, 0L));
+        stamps.advance(1L, 2L);
+
+        cache.put(1L, policy(1L, 1L));
+
+        assertNull(cache.get(1L));
+    }
+
+    private static AutoPolicyDTO policy(Long id, Long version) {
+        AutoPolicyDTO policy = new AutoPolicyDTO();
+        policy.setId(id);
+        policy.setVersion(version);
+        return policy;
+    }
+}
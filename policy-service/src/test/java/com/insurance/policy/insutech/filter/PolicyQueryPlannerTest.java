@@ -0,0 +1,48 @@
+package com.insurance.policy.insutech.filter;
+
+import com.insurance.policy.insutech.model.PolicyStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolicyQueryPlannerTest {
+
+    private final PolicyQueryPlanner planner = new PolicyQueryPlanner();
+
+    @Test
+    void shouldCanonicalizeEquivalentFilters() {
+        PolicyFilter a = PolicyFilter.of(null, null, PolicyStatus.ACTIVE, null, " Toyota ", "", null, 100.0, null, null);
+        PolicyFilter b = PolicyFilter.of(null, null, PolicyStatus.ACTIVE, null, "toyota", null, "  ", 100.00, null, null);
+
+        assertEquals(a, b);
+        assertNull(a.firstName());
+        assertEquals("toyota", a.vehicleMake());
+    }
+
+    @Test
+    void shouldReusePlanForSameShape() {
+        PolicyFilter a = PolicyFilter.of(LocalDate.of(2024, 1, 1), null, PolicyStatus.ACTIVE, null, "ford", null, null, null, null, null);
+        PolicyFilter b = PolicyFilter.of(LocalDate.of(2023, 6, 1), null, PolicyStatus.EXPIRED, null, "honda", null, null, null, null, null);
+
+        assertSame(planner.plan(a), planner.plan(b));
+        assertEquals("select p from AutoPolicy p where p.startDate >= :start_date and p.status = :status"
+                        + " and lower(p.vehicleMake) like :vehicle_make escape '\\'",
+                planner.plan(a).jpql());
+    }
+
+    @Test
+    void shouldEscapeLikeWildcardsInSubstringCriteria() {
+        PolicyFilter filter = PolicyFilter.of(null, null, null, null, "50%_off", null, null, null, null, null);
+
+        assertEquals("%50\\%\\_off%", PolicyFilterField.VEHICLE_MAKE.bindValue(filter));
+    }
+
+    @Test
+    void shouldCompileEmptyFilterWithoutWhereClause() {
+        PolicyFilter filter = PolicyFilter.of(null, null, null, null, null, null, null, null, null, null);
+
+        assertEquals("select p from AutoPolicy p", planner.plan(filter).jpql());
+    }
+}
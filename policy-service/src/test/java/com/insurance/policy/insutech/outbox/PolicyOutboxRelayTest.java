@@ -0,0 +1,97 @@
+package com.insurance.policy.insutech.outbox;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.PolicyChangeDTO;
+import com.insurance.policy.insutech.event.PolicyChangedEvent.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class PolicyOutboxRelayTest {
+
+    @Mock
+    private PolicyOutbox outbox;
+
+    @Mock
+    private PolicyChangePublisher publisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private PolicyOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+        when(outbox.tryLockRelay()).thenReturn(true);
+        relay = new PolicyOutboxRelay(outbox, publisher, transactionTemplate, 2, Duration.ofDays(7));
+    }
+
+    @Test
+    void shouldNumberBatchesAfterLastSequenceUntilOutboxIsDrained() {
+        when(outbox.lastSequence()).thenReturn(41L, 43L);
+        when(outbox.findUnpublished(2)).thenReturn(pending(1, 2), pending(3), List.of());
+
+        assertEquals(3, relay.relay());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PolicyChangeDTO>> batches = ArgumentCaptor.forClass(List.class);
+        verify(publisher, times(2)).publish(batches.capture());
+        assertEquals(List.of(42L, 43L), sequences(batches.getAllValues().get(0)));
+        assertEquals(List.of(44L), sequences(batches.getAllValues().get(1)));
+        verify(outbox, times(2)).markPublished(anyList(), any(Instant.class));
+    }
+
+    @Test
+    void shouldLeaveRowsUnpublishedWhenPublishingFails() {
+        when(outbox.findUnpublished(2)).thenReturn(pending(1, 2));
+        doThrow(new IllegalStateException("broker down")).when(publisher).publish(anyList());
+
+        assertEquals(0, relay.relay());
+
+        verify(outbox, never()).markPublished(anyList(), any(Instant.class));
+    }
+
+    @Test
+    void shouldSkipPollWhileAnotherInstanceRelays() {
+        when(outbox.tryLockRelay()).thenReturn(false);
+
+        assertEquals(0, relay.relay());
+
+        verify(outbox, never()).findUnpublished(anyInt());
+        verifyNoInteractions(publisher);
+    }
+
+    private static List<PolicyOutbox.Pending> pending(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> {
+                    AutoPolicyDTO policy = new AutoPolicyDTO();
+                    policy.setId(id);
+                    policy.setVersion(0L);
+                    return new PolicyOutbox.Pending(id, new PolicyChangeDTO(null, ChangeType.CREATED, id, 0L,
+                            Instant.now(), policy));
+                })
+                .toList();
+    }
+
+    private static List<Long> sequences(List<PolicyChangeDTO> changes) {
+        return changes.stream().map(PolicyChangeDTO::getSequence).toList();
+    }
+}
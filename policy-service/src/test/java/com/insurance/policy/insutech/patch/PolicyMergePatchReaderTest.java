@@ -0,0 +1,56 @@
+package com.insurance.policy.insutech.patch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.policy.insutech.exception.InvalidPolicyPatchException;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolicyMergePatchReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final PolicyMergePatchReader reader = new PolicyMergePatchReader(objectMapper);
+
+    @Test
+    void shouldKeepOnlyMembersPresentInThePatch() throws Exception {
+        PolicyMergePatch patch = reader.read(1L, json("""
+                {"status":"CANCELLED","premiumAmount":812.40,"vehicleModel":null,"version":3}
+                """));
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("status", PolicyStatus.CANCELLED);
+        expected.put("premiumAmount", new BigDecimal("812.4"));
+        expected.put("vehicleModel", null);
+        assertEquals(expected, patch.properties());
+        assertEquals(3L, patch.version());
+    }
+
+    @Test
+    void shouldIgnoreMatchingIdAndRejectChangedId() throws Exception {
+        assertTrue(reader.read(1L, json("{\"id\":1}")).isEmpty());
+        assertThrows(InvalidPolicyPatchException.class, () -> reader.read(1L, json("{\"id\":2}")));
+    }
+
+    @Test
+    void shouldRejectInvalidPatches() {
+        for (String body : Arrays.asList(
+                "[]",
+                "{\"unknown\":1}",
+                "{\"userId\":null}",
+                "{\"status\":\"NOT_A_STATUS\"}",
+                "{\"startDate\":\"yesterday\"}")) {
+            assertThrows(InvalidPolicyPatchException.class, () -> reader.read(1L, json(body)), body);
+        }
+    }
+
+    private JsonNode json(String body) throws Exception {
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,99 @@
+package com.insurance.policy.insutech.search;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.event.PoliciesImportedEvent;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolicySearchIndexTest {
+
+    private PolicySearchIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index = new PolicySearchIndex(new ByteBuffersDirectory());
+        index.rebuild(sink -> {
+            sink.accept(policy(1L, "AP-1001", "John", "Smith", "Toyota", "Camry"));
+            sink.accept(policy(2L, "AP-1002", "Johnny", "Walker", "Ford", "Focus"));
+            sink.accept(policy(3L, "AP-2001", "Mary", "Johnson", "Toyota", "Corolla"));
+            sink.accept(policy(4L, "AP-2002", "Sam", "Jones", "Mercedes-Benz", "C300"));
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.destroy();
+    }
+
+    @Test
+    void shouldRankExactMatchesAbovePrefixMatches() {
+        assertEquals(List.of(1L, 2L, 3L), index.search("john", 10));
+    }
+
+    @Test
+    void shouldRequireEveryTermAndMatchPrefixes() {
+        assertEquals(List.of(1L), index.search("jo cam", 10));
+        assertEquals(List.of(4L), index.search("benz", 10));
+    }
+
+    @Test
+    void shouldTolerateTypos() {
+        assertEquals(List.of(3L), index.search("corola", 10));
+        assertEquals(List.of(1L, 3L), index.search("toyta", 10));
+    }
+
+    @Test
+    void shouldRankWholePolicyNumberFirst() {
+        assertEquals(1L, index.search("AP-1001", 10).get(0));
+        assertEquals(List.of(3L, 4L), index.search("ap-200", 10));
+    }
+
+    @Test
+    void shouldApplyWritesIncrementally() {
+        index.onPolicyChanged(PolicyChangedEvent.updated(policy(1L, "AP-1001", "John", "Smith", "Honda", "Civic")));
+        index.onPolicyChanged(PolicyChangedEvent.deleted(3L));
+        index.onPoliciesImported(new PoliciesImportedEvent(List.of(policy(5L, "AP-3001", "Ann", "Lee", "Toyota", "Yaris"))));
+
+        assertEquals(List.of(5L), index.search("toyota", 10));
+        assertEquals(List.of(1L), index.search("civic", 10));
+    }
+
+    @Test
+    void shouldDropPoliciesMissingFromRebuildButKeepWritesMadeDuringIt() throws IOException {
+        index.rebuild(sink -> {
+            index.onPolicyChanged(PolicyChangedEvent.created(policy(6L, "AP-4001", "Zoe", "King", "Kia", "Rio")));
+            index.onPolicyChanged(PolicyChangedEvent.updated(policy(2L, "AP-1002", "Johnny", "Walker", "Ford", "Mustang")));
+            sink.accept(policy(1L, "AP-1001", "John", "Smith", "Toyota", "Camry"));
+            sink.accept(policy(2L, "AP-1002", "Johnny", "Walker", "Ford", "Focus")); // read before the update
+        });
+
+        assertEquals(List.of(1L), index.search("toyota", 10));
+        assertEquals(List.of(6L), index.search("kia", 10));
+        assertEquals(List.of(2L), index.search("mustang", 10));
+        assertEquals(List.of(), index.search("focus", 10));
+    }
+
+    @Test
+    void shouldRejectTextWithoutTerms() {
+        assertThrows(IllegalArgumentException.class, () -> index.search(" -- ", 10));
+    }
+
+    private static AutoPolicyDTO policy(Long id, String number, String first, String last, String make, String model) {
+        AutoPolicyDTO policy = new AutoPolicyDTO();
+        policy.setId(id);
+        policy.setPolicyNumber(number);
+        policy.setFirstName(first);
+        policy.setLastName(last);
+        policy.setVehicleMake(make);
+        policy.setVehicleModel(model);
+        return policy;
+    }
+}
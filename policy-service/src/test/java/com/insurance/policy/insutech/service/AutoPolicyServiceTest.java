@@ -1,23 +1,38 @@
 package com.insurance.policy.insutech.service;
 
+import com.insurance.policy.insutech.cache.FilteredPolicyCache;
+import com.insurance.policy.insutech.cache.PolicyNumberIndex;
 import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.AutoPolicyPageDTO;
+import com.insurance.policy.insutech.event.PoliciesImportedEvent;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
 import com.insurance.policy.insutech.exception.AutoPolicyNotFoundException;
+import com.insurance.policy.insutech.exception.InvalidCursorException;
 import com.insurance.policy.insutech.mapper.AutoPolicyMapper;
 import com.insurance.policy.insutech.model.AutoPolicy;
 import com.insurance.policy.insutech.model.AutoPolicyType;
 import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.patch.PolicyMergePatch;
 import com.insurance.policy.insutech.repository.AutoPolicyRepository;
 import com.insurance.policy.insutech.service.impl.AutoPolicyServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 class AutoPolicyServiceTest {
@@ -28,6 +43,15 @@ class AutoPolicyServiceTest {
     @Mock
     private AutoPolicyMapper autoPolicyMapper; // Use Mock, not Spy
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PolicyNumberIndex policyNumberIndex;
+
+    @Mock
+    private FilteredPolicyCache filteredPolicyCache;
+
     @InjectMocks
     private AutoPolicyServiceImpl autoPolicyService;
 
@@ -62,7 +86,7 @@ class AutoPolicyServiceTest {
     @Test
     void shouldCreatePolicy() {
         when(autoPolicyMapper.toEntity(any(AutoPolicyDTO.class))).thenReturn(policy);
-        when(autoPolicyRepository.save(any(AutoPolicy.class))).thenReturn(policy);
+        when(autoPolicyRepository.saveAndFlush(any(AutoPolicy.class))).thenReturn(policy);
         when(autoPolicyMapper.toDTO(any(AutoPolicy.class))).thenReturn(policyDTO);
 
         AutoPolicyDTO savedPolicy = autoPolicyService.createPolicy(policyDTO);
@@ -72,7 +96,109 @@ class AutoPolicyServiceTest {
         assertEquals(PolicyStatus.ACTIVE, savedPolicy.getStatus());
         assertEquals(AutoPolicyType.COLLISION, savedPolicy.getPolicyType());
 
-        verify(autoPolicyRepository, times(1)).save(any(AutoPolicy.class));
+        verify(autoPolicyRepository, times(1)).saveAndFlush(any(AutoPolicy.class));
+        verify(autoPolicyRepository, never()).findByPolicyNumber(any());
+        verify(eventPublisher).publishEvent(any(PolicyChangedEvent.class));
+    }
+
+    @Test
+    void shouldAnnounceBatchCreateAsOneImportAndDropFilteredCacheOnce() {
+        AutoPolicy second = policyWithId(2L, "AP-102");
+        AutoPolicyDTO secondDTO = new AutoPolicyDTO();
+        secondDTO.setId(2L);
+        secondDTO.setPolicyNumber("AP-102");
+        when(autoPolicyRepository.findExistingPolicyNumbers(anyCollection())).thenReturn(Set.of());
+        when(autoPolicyMapper.toEntity(any(AutoPolicyDTO.class))).thenReturn(policy, second);
+        when(autoPolicyRepository.saveAll(anyList())).thenReturn(List.of(policy, second));
+
+        autoPolicyService.createPolicies(List.of(policyDTO, secondDTO));
+
+        ArgumentCaptor<PoliciesImportedEvent> imported = ArgumentCaptor.forClass(PoliciesImportedEvent.class);
+        verify(eventPublisher).publishEvent(imported.capture());
+        assertEquals(List.of("AP-101", "AP-102"), imported.getValue().policies().stream()
+                .map(AutoPolicyDTO::getPolicyNumber).toList());
+        verify(eventPublisher, never()).publishEvent(any(PolicyChangedEvent.class));
+        verify(filteredPolicyCache, times(1)).invalidateAll();
+    }
+
+    @Test
+    void shouldRejectDuplicatePolicyNumberFromUniqueConstraint() {
+        when(autoPolicyRepository.saveAndFlush(any(AutoPolicy.class))).thenThrow(new DataIntegrityViolationException(
+                "duplicate", new SQLException("duplicate key value violates unique constraint", "23505")));
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> autoPolicyService.createPolicy(policyDTO));
+
+        assertEquals("Policy number already exists: AP-101", exception.getMessage());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void shouldUpdateWithSingleStatement() {
+        AutoPolicy stored = policyWithId(1L, "AP-101");
+        stored.setVersion(4L);
+        policyDTO.setVersion(3L);
+        when(autoPolicyRepository.updateProperties(eq(1L), eq(3L), anyMap())).thenReturn(Optional.of(stored));
+
+        AutoPolicyDTO updated = autoPolicyService.updatePolicy(1L, policyDTO);
+
+        assertEquals(4L, updated.getVersion());
+        verify(autoPolicyRepository, never()).existsById(any());
+        verify(autoPolicyRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(any(PolicyChangedEvent.class));
+    }
+
+    @Test
+    void shouldReportStaleVersionAsOptimisticLockFailure() {
+        policyDTO.setVersion(3L);
+        when(autoPolicyRepository.updateProperties(eq(1L), eq(3L), anyMap())).thenReturn(Optional.empty());
+        when(autoPolicyRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> autoPolicyService.updatePolicy(1L, policyDTO));
+    }
+
+    @Test
+    void shouldReportMissingPolicyOnUnversionedUpdateWithoutExtraQuery() {
+        when(autoPolicyRepository.updateProperties(eq(9L), isNull(), anyMap())).thenReturn(Optional.empty());
+
+        assertThrows(AutoPolicyNotFoundException.class, () -> autoPolicyService.updatePolicy(9L, policyDTO));
+        verify(autoPolicyRepository, never()).existsById(any());
+    }
+
+    @Test
+    void shouldPatchOnlyNamedProperties() {
+        AutoPolicy stored = policyWithId(1L, "AP-101");
+        stored.setStatus(PolicyStatus.CANCELLED);
+        stored.setVersion(2L);
+        when(autoPolicyRepository.updateProperties(1L, null, Map.of("status", PolicyStatus.CANCELLED)))
+                .thenReturn(Optional.of(stored));
+        AutoPolicyDTO patched = autoPolicyService.patchPolicy(1L,
+                new PolicyMergePatch(Map.of("status", PolicyStatus.CANCELLED), null));
+
+        assertEquals(PolicyStatus.CANCELLED, patched.getStatus());
+        verify(eventPublisher).publishEvent(any(PolicyChangedEvent.class));
+    }
+
+    @Test
+    void shouldNotWriteEmptyPatch() {
+        when(autoPolicyRepository.findById(1L)).thenReturn(Optional.of(policyWithId(1L, "AP-101")));
+
+        AutoPolicyDTO result = autoPolicyService.patchPolicy(1L, new PolicyMergePatch(Map.of(), null));
+
+        assertEquals("AP-101", result.getPolicyNumber());
+        verify(autoPolicyRepository, never()).updateProperties(any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void shouldDeleteWithSingleStatement() {
+        when(autoPolicyRepository.deletePolicyById(1L)).thenReturn(1);
+        when(autoPolicyRepository.deletePolicyById(2L)).thenReturn(0);
+
+        autoPolicyService.deletePolicy(1L);
+
+        assertThrows(AutoPolicyNotFoundException.class, () -> autoPolicyService.deletePolicy(2L));
+        verify(autoPolicyRepository, never()).existsById(any());
+        verify(autoPolicyRepository, never()).deleteById(any());
     }
 
     @Test
@@ -101,7 +227,8 @@ class AutoPolicyServiceTest {
 
     @Test
     void shouldGetAllPolicies() {
-        when(autoPolicyRepository.findAll()).thenReturn(List.of(policy));
+        when(autoPolicyRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1000)))
+                .thenReturn(List.of(policy));
         when(autoPolicyMapper.toDTO(policy)).thenReturn(policyDTO);
 
         List<AutoPolicyDTO> policies = autoPolicyService.getAllPolicies();
@@ -110,6 +237,46 @@ class AutoPolicyServiceTest {
         assertEquals(1, policies.size());
         assertEquals("AP-101", policies.get(0).getPolicyNumber());
 
-        verify(autoPolicyRepository, times(1)).findAll();
+        verify(autoPolicyRepository, never()).findAll();
+    }
+
+    @Test
+    void shouldReturnKeysetPageWithContinuationCursor() {
+        AutoPolicy first = policyWithId(1L, "AP-101");
+        AutoPolicy second = policyWithId(2L, "AP-102");
+        AutoPolicy third = policyWithId(3L, "AP-103");
+        when(autoPolicyRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+                .thenReturn(List.of(first, second, third));
+
+        AutoPolicyPageDTO page = autoPolicyService.getPoliciesPage(null, 2);
+
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.isHasMore());
+        assertNotNull(page.getNextCursor());
+
+        when(autoPolicyRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3)))
+                .thenReturn(List.of(third));
+
+        AutoPolicyPageDTO next = autoPolicyService.getPoliciesPage(page.getNextCursor(), 2);
+
+        assertEquals(1, next.getContent().size());
+        assertEquals("AP-103", next.getContent().get(0).getPolicyNumber());
+        assertFalse(next.isHasMore());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThrows(InvalidCursorException.class, () -> autoPolicyService.getPoliciesPage("not-a-cursor!", 10));
+    }
+
+    private AutoPolicy policyWithId(Long id, String policyNumber) {
+        AutoPolicy p = new AutoPolicy(
+                policyNumber, PolicyStatus.ACTIVE, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31),
+                BigDecimal.valueOf(700.00), AutoPolicyType.COLLISION, "Ford", "F-150",
+                "2023", "Michael", "Johnson"
+        );
+        p.setId(id);
+        return p;
     }
 }
@@ -0,0 +1,131 @@
+package com.insurance.policy.insutech.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.policy.insutech.dto.ImportJobDTO;
+import com.insurance.policy.insutech.dto.ImportRowErrorDTO;
+import com.insurance.policy.insutech.exception.ImportJobNotFoundException;
+import com.insurance.policy.insutech.ingest.ImportJobStatus;
+import com.insurance.policy.insutech.ingest.IngestFormat;
+import com.insurance.policy.insutech.ingest.PolicyChunkWriter;
+import com.insurance.policy.insutech.ingest.PolicyRecordReader;
+import com.insurance.policy.insutech.service.impl.PolicyImportJobServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class PolicyImportJobServiceTest {
+
+    @Mock
+    private PolicyChunkWriter chunkWriter;
+
+    private PolicyImportJobServiceImpl importJobService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(chunkWriter.write(any())).thenAnswer(inv ->
+                new PolicyChunkWriter.ChunkResult(((List<?>) inv.getArgument(0)).size(), Set.of()));
+
+        importJobService = new PolicyImportJobServiceImpl(
+                new PolicyRecordReader(new ObjectMapper().findAndRegisterModules()),
+                chunkWriter, 2, 2, 10, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        importJobService.destroy();
+    }
+
+    @Test
+    void shouldImportInParallelChunksAndReportRowErrors() throws Exception {
+        doReturn(new PolicyChunkWriter.ChunkResult(1, Set.of("AP-4"))).when(chunkWriter).write(argThat(chunk ->
+                chunk.stream().anyMatch(policy -> policy.getPolicyNumber().equals("AP-4"))));
+        String body = """
+                {"policyNumber":"AP-1","userId":1,"status":"ACTIVE","policyType":"LIABILITY"}
+                {"policyNumber":"AP-2","userId":1,"status":"ACTIVE","policyType":"LIABILITY"}
+                {"policyNumber":"AP-3","status":"ACTIVE","policyType":"LIABILITY"}
+                {"policyNumber":"AP-1","userId":2,"status":"EXPIRED","policyType":"COLLISION"}
+                {"policyNumber":"AP-4","userId":2,"status":"EXPIRED","policyType":"COLLISION"}
+                {"policyNumber":"AP-5","userId":2,"status":"EXPIRED","policyType":"COLLISION"}
+                """;
+
+        ImportJobDTO submitted = importJobService.submit(stream(body), IngestFormat.NDJSON);
+        ImportJobDTO job = awaitFinished(submitted.getJobId());
+
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(6, job.getReceived());
+        assertEquals(2, job.getChunks());
+        assertEquals(3, job.getInserted());
+        assertEquals(2, job.getDuplicates());
+        assertEquals(1, job.getInvalid());
+        assertEquals(List.of(3L, 4L, 5L), job.getErrors().stream().map(ImportRowErrorDTO::getRecord).sorted().toList());
+        verify(chunkWriter, times(1)).invalidateListCaches();
+    }
+
+    @Test
+    void shouldRecordFailedChunkAndKeepOthers() throws Exception {
+        doThrow(new IllegalStateException("connection reset")).when(chunkWriter).write(argThat(chunk ->
+                chunk.stream().anyMatch(policy -> policy.getPolicyNumber().equals("AP-3"))));
+        String body = """
+                policyNumber,userId,status,policyType
+                AP-1,1,ACTIVE,LIABILITY
+                AP-2,1,ACTIVE,LIABILITY
+                AP-3,1,ACTIVE,LIABILITY
+                """;
+
+        ImportJobDTO job = awaitFinished(importJobService.submit(stream(body), IngestFormat.CSV).getJobId());
+
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(2, job.getInserted());
+        assertEquals(1, job.getFailed());
+        assertTrue(job.getErrors().get(0).getReason().contains("connection reset"));
+    }
+
+    @Test
+    void shouldFailJobOnMalformedInputAndKeepCommittedChunks() throws Exception {
+        String body = """
+                {"policyNumber":"AP-1","userId":1,"status":"ACTIVE","policyType":"LIABILITY"}
+                {"policyNumber":"AP-2","userId":1,"status":"ACTIVE","policyType":"LIABILITY"}
+                {"policyNumber":
+                """;
+
+        ImportJobDTO job = awaitFinished(importJobService.submit(stream(body), IngestFormat.NDJSON).getJobId());
+
+        assertEquals(ImportJobStatus.FAILED, job.getStatus());
+        assertNotNull(job.getError());
+        assertEquals(2, job.getInserted());
+    }
+
+    @Test
+    void shouldThrowWhenJobUnknown() {
+        assertThrows(ImportJobNotFoundException.class, () -> importJobService.getJob("missing"));
+    }
+
+    private ImportJobDTO awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        ImportJobDTO job = importJobService.getJob(jobId);
+        while (job.getFinishedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            job = importJobService.getJob(jobId);
+        }
+        assertNotNull(job.getFinishedAt(), "import job did not finish");
+        return job;
+    }
+
+    private ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,125 @@
+package com.insurance.policy.insutech.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.policy.insutech.cache.FilteredPolicyCache;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.IngestionProgressDTO;
+import com.insurance.policy.insutech.ingest.IngestFormat;
+import com.insurance.policy.insutech.ingest.PolicyChunkWriter;
+import com.insurance.policy.insutech.ingest.PolicyRecordReader;
+import com.insurance.policy.insutech.repository.AutoPolicyBatchWriter;
+import com.insurance.policy.insutech.repository.AutoPolicyRepository;
+import com.insurance.policy.insutech.service.impl.PolicyIngestionServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class PolicyIngestionServiceTest {
+
+    @Mock
+    private AutoPolicyRepository autoPolicyRepository;
+
+    @Mock
+    private AutoPolicyBatchWriter batchWriter;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private PolicyIngestionServiceImpl ingestionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+        when(batchWriter.insertAll(any())).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+
+        PolicyChunkWriter chunkWriter = new PolicyChunkWriter(autoPolicyRepository, batchWriter,
+                transactionTemplate, new FilteredPolicyCache(), new ConcurrentMapCacheManager("allPolicies"),
+                event -> { });
+        ingestionService = new PolicyIngestionServiceImpl(
+                new PolicyRecordReader(new ObjectMapper().findAndRegisterModules()), chunkWriter, 2);
+    }
+
+    @Test
+    void shouldIngestNdjsonInChunksSkippingDuplicatesAndInvalidRows() {
+        when(autoPolicyRepository.findExistingPolicyNumbers(anyCollection())).thenReturn(Set.of());
+        when(autoPolicyRepository.findExistingPolicyNumbers(List.of("AP-1", "AP-2"))).thenReturn(Set.of("AP-2"));
+        // AP-1 was committed by the first chunk by the time the second chunk checks it
+        when(autoPolicyRepository.findExistingPolicyNumbers(List.of("AP-1"))).thenReturn(Set.of("AP-1"));
+        String body = """
+                {"policyNumber":"AP-1","userId":1,"status":"ACTIVE","policyType":"LIABILITY","startDate":"2024-01-01"}
+                {"policyNumber":"AP-2","userId":1,"status":"ACTIVE","policyType":"LIABILITY"}
+                {"policyNumber":"AP-3","status":"ACTIVE","policyType":"LIABILITY"}
+                {"policyNumber":"AP-1","userId":2,"status":"EXPIRED","policyType":"COLLISION"}
+                {"policyNumber":"AP-4","userId":2,"status":"EXPIRED","policyType":"COLLISION"}
+                """;
+        List<Integer> chunksReported = new ArrayList<>();
+
+        IngestionProgressDTO result = ingestionService.ingest(stream(body), IngestFormat.NDJSON,
+                progress -> chunksReported.add(progress.getChunks()));
+
+        assertTrue(result.isDone());
+        assertNull(result.getError());
+        assertEquals(5, result.getReceived());
+        assertEquals(2, result.getInserted());
+        assertEquals(2, result.getDuplicates());
+        assertEquals(1, result.getInvalid());
+        assertEquals(List.of(1, 2, 3, 3), chunksReported);
+    }
+
+    @Test
+    void shouldParseCsvWithHeaderRow() {
+        when(autoPolicyRepository.findExistingPolicyNumbers(anyCollection())).thenReturn(Set.of());
+        String body = """
+                policyNumber,userId,status,policyType,vehicleMake,premiumAmount,startDate
+                AP-10,7,ACTIVE,COMPREHENSIVE,Toyota,512.50,2024-02-01
+                """;
+
+        IngestionProgressDTO result = ingestionService.ingest(stream(body), IngestFormat.CSV, progress -> { });
+
+        assertEquals(1, result.getInserted());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AutoPolicyDTO>> written = ArgumentCaptor.forClass(List.class);
+        verify(batchWriter).insertAll(written.capture());
+        AutoPolicyDTO policy = written.getValue().get(0);
+        assertEquals("Toyota", policy.getVehicleMake());
+        assertEquals(0, policy.getPremiumAmount().compareTo(new java.math.BigDecimal("512.50")));
+    }
+
+    @Test
+    void shouldReportErrorAndKeepCommittedChunksOnMalformedInput() {
+        when(autoPolicyRepository.findExistingPolicyNumbers(anyCollection())).thenReturn(Set.of());
+        String body = """
+                {"policyNumber":"AP-1","userId":1,"status":"ACTIVE","policyType":"LIABILITY"}
+                {"policyNumber":"AP-2","userId":1,"status":"ACTIVE","policyType":"LIABILITY"}
+                {"policyNumber":
+                """;
+
+        IngestionProgressDTO result = ingestionService.ingest(stream(body), IngestFormat.NDJSON, progress -> { });
+
+        assertTrue(result.isDone());
+        assertNotNull(result.getError());
+        assertEquals(2, result.getInserted());
+    }
+
+    private ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
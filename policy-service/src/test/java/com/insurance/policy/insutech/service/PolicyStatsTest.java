@@ -0,0 +1,154 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.cache.FilteredPolicyCache;
+import com.insurance.policy.insutech.cache.PolicyNumberIndex;
+import com.insurance.policy.insutech.dto.PolicyStatsDTO;
+import com.insurance.policy.insutech.dto.PolicyStatsGroupDTO;
+import com.insurance.policy.insutech.filter.PolicyQueryPlanner;
+import com.insurance.policy.insutech.filter.PolicyStatsDimension;
+import com.insurance.policy.insutech.model.AutoPolicy;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.outbox.PolicyOutbox;
+import com.insurance.policy.insutech.repository.AutoPolicyRepository;
+import com.insurance.policy.insutech.search.PolicySearchIndex;
+import com.insurance.policy.insutech.service.impl.AutoPolicyServiceImpl;
+import com.insurance.policy.insutech.snapshot.PolicySnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never"
+})
+@Import({AutoPolicyServiceImpl.class, PolicyQueryPlanner.class, PolicySnapshot.class})
+class PolicyStatsTest {
+
+    @Autowired
+    private AutoPolicyService service;
+
+    @Autowired
+    private AutoPolicyRepository repository;
+
+    @MockitoBean
+    private FilteredPolicyCache filteredPolicyCache;
+
+    @MockitoBean
+    private PolicyNumberIndex policyNumberIndex;
+
+    @MockitoBean
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private PolicySearchIndex policySearchIndex;
+
+    @MockitoBean
+    private PolicyOutbox policyOutbox;
+
+    @BeforeEach
+    void setUp() {
+        List<AutoPolicy> policies = new ArrayList<>();
+        // Premiums 100..1000 for ACTIVE Toyotas starting in January, 50..200 for EXPIRED Fords in February
+        for (int i = 1; i <= 10; i++) {
+            policies.add(policy("ST-A" + i, PolicyStatus.ACTIVE, AutoPolicyType.COMPREHENSIVE, "Toyota",
+                    LocalDate.of(2024, 1, i), BigDecimal.valueOf(i * 100L)));
+        }
+        for (int i = 1; i <= 4; i++) {
+            policies.add(policy("ST-E" + i, PolicyStatus.EXPIRED, AutoPolicyType.LIABILITY, "Ford",
+                    LocalDate.of(2024, 2, i), BigDecimal.valueOf(i * 50L)));
+        }
+        policies.add(policy("ST-N1", PolicyStatus.EXPIRED, AutoPolicyType.LIABILITY, "ford",
+                LocalDate.of(2024, 2, 20), null));
+        repository.saveAllAndFlush(policies);
+    }
+
+    @Test
+    void shouldAggregateAllMatchingPolicies() {
+        PolicyStatsDTO stats = stats(PolicyStatsDimension.NONE, 100, null, null);
+
+        assertNull(stats.getGroupBy());
+        assertFalse(stats.isTruncated());
+        PolicyStatsGroupDTO all = single(stats);
+        assertNull(all.getKey());
+        assertEquals(15, all.getCount());
+        assertEquals(new BigDecimal("6000.00"), all.getSumPremium());
+        assertEquals(new BigDecimal("50.00"), all.getMinPremium());
+        assertEquals(new BigDecimal("1000.00"), all.getMaxPremium());
+    }
+
+    @Test
+    void shouldGroupByStatusLargestFirst() {
+        PolicyStatsDTO stats = stats(PolicyStatsDimension.STATUS, 100, null, null);
+
+        assertEquals("status", stats.getGroupBy());
+        assertEquals(List.of("ACT", "EXP"), stats.getGroups().stream().map(PolicyStatsGroupDTO::getKey).toList());
+
+        PolicyStatsGroupDTO active = stats.getGroups().get(0);
+        assertEquals(10, active.getCount());
+        assertEquals(new BigDecimal("5500.00"), active.getSumPremium());
+        assertEquals(new BigDecimal("550.00"), active.getAvgPremium());
+        assertEquals(new BigDecimal("550.00"), active.getP50Premium());
+        assertEquals(new BigDecimal("910.00"), active.getP90Premium());
+
+        PolicyStatsGroupDTO expired = stats.getGroups().get(1);
+        assertEquals(5, expired.getCount()); // the policy without a premium is counted
+        assertEquals(new BigDecimal("125.00"), expired.getAvgPremium()); // ...but not averaged
+    }
+
+    @Test
+    void shouldApplyFilterCriteriaAndGroupCaseInsensitively() {
+        PolicyStatsDTO stats = stats(PolicyStatsDimension.VEHICLE_MAKE, 100, PolicyStatus.EXPIRED, "FOR");
+
+        PolicyStatsGroupDTO ford = single(stats);
+        assertEquals("ford", ford.getKey());
+        assertEquals(5, ford.getCount());
+        assertEquals(new BigDecimal("500.00"), ford.getSumPremium());
+    }
+
+    @Test
+    void shouldGroupByMonthChronologicallyAndTruncateToLimit() {
+        PolicyStatsDTO stats = stats(PolicyStatsDimension.MONTH, 1, null, null);
+
+        assertTrue(stats.isTruncated());
+        PolicyStatsGroupDTO january = single(stats);
+        assertEquals("2024-01", january.getKey());
+        assertEquals(10, january.getCount());
+    }
+
+    @Test
+    void shouldParseGroupByParameter() {
+        assertEquals(PolicyStatsDimension.VEHICLE_MAKE, PolicyStatsDimension.fromParam("vehiclemake"));
+        assertEquals(PolicyStatsDimension.NONE, PolicyStatsDimension.fromParam(" "));
+        assertThrows(IllegalArgumentException.class, () -> PolicyStatsDimension.fromParam("premium"));
+    }
+
+    private PolicyStatsDTO stats(PolicyStatsDimension groupBy, int limit, PolicyStatus status, String vehicleMake) {
+        return service.getPolicyStats(groupBy, limit, null, null, status, null, vehicleMake,
+                null, null, null, null, null);
+    }
+
+    private static PolicyStatsGroupDTO single(PolicyStatsDTO stats) {
+        assertEquals(1, stats.getGroups().size());
+        return stats.getGroups().get(0);
+    }
+
+    private static AutoPolicy policy(String number, PolicyStatus status, AutoPolicyType type, String make,
+                                     LocalDate startDate, BigDecimal premium) {
+        AutoPolicy policy = new AutoPolicy(number, status, startDate, startDate.plusYears(1), premium,
+                type, make, "Model", "2022", "Pat", "Doe");
+        policy.setUserId(7L);
+        return policy;
+    }
+}
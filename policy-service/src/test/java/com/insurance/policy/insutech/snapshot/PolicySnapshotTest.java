@@ -0,0 +1,178 @@
+package com.insurance.policy.insutech.snapshot;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import com.insurance.policy.insutech.filter.PolicyFilter;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolicySnapshotTest {
+
+    private static final String[] MAKES = {"Toyota", "TOYOTA", "Ford", "Honda", "Tesla", "Ford Motor", null};
+    private static final String[] NAMES = {"Ann", "Anna", "Bob", "Dan", "Hannah", null};
+
+    private final PolicySnapshot snapshot = new PolicySnapshot(true);
+
+    @Test
+    void shouldMatchInMemoryFilterSemanticsOnParallelScan() {
+        Random random = new Random(42);
+        List<AutoPolicyDTO> book = new ArrayList<>();
+        for (long id = 1; id <= PolicySnapshot.PARALLEL_THRESHOLD + 30_000; id++) {
+            book.add(randomPolicy(id, random));
+        }
+        snapshot.load(sink -> book.forEach(sink));
+        assertTrue(snapshot.isReady());
+
+        for (int i = 0; i < 200; i++) {
+            PolicyFilter filter = randomFilter(random);
+            List<Long> expected = book.stream().filter(filter::matches).map(AutoPolicyDTO::getId).toList();
+            assertEquals(expected, ids(snapshot.filter(filter)), filter.toString());
+        }
+    }
+
+    @Test
+    void shouldRoundTripEveryColumn() {
+        AutoPolicyDTO policy = policy(7L, PolicyStatus.CANCELLED, "Subaru", new BigDecimal("1234.50"));
+        policy.setVersion(3L);
+        policy.setVehicleModel("Outback");
+        policy.setVehicleYear("2021");
+        policy.setFirstName("Jo");
+        policy.setLastName("Smith");
+        policy.setEndDate(null);
+        snapshot.load(sink -> sink.accept(policy));
+
+        AutoPolicyDTO stored = snapshot.filter(all()).get(0);
+        assertEquals(7L, stored.getId());
+        assertEquals(3L, stored.getVersion());
+        assertEquals("AP-7", stored.getPolicyNumber());
+        assertEquals(PolicyStatus.CANCELLED, stored.getStatus());
+        assertEquals(AutoPolicyType.COLLISION, stored.getPolicyType());
+        assertEquals("Outback", stored.getVehicleModel());
+        assertEquals("2021", stored.getVehicleYear());
+        assertEquals("Smith", stored.getLastName());
+        assertEquals(LocalDate.of(2024, 1, 1), stored.getStartDate());
+        assertNull(stored.getEndDate());
+        assertEquals(new BigDecimal("1234.50"), stored.getPremiumAmount());
+    }
+
+    @Test
+    void shouldApplyWritesAndIgnoreStaleVersions() {
+        snapshot.load(sink -> {
+            sink.accept(policy(1L, PolicyStatus.ACTIVE, "Ford", new BigDecimal("100.00")));
+            sink.accept(policy(2L, PolicyStatus.ACTIVE, "Ford", new BigDecimal("200.00")));
+        });
+
+        AutoPolicyDTO updated = policy(1L, PolicyStatus.EXPIRED, "Ford", new BigDecimal("150.00"));
+        updated.setVersion(5L);
+        snapshot.onPolicyChanged(PolicyChangedEvent.updated(updated));
+        AutoPolicyDTO stale = policy(1L, PolicyStatus.ACTIVE, "Ford", new BigDecimal("100.00"));
+        stale.setVersion(4L);
+        snapshot.onPolicyChanged(PolicyChangedEvent.updated(stale));
+        snapshot.onPolicyChanged(PolicyChangedEvent.deleted(2L));
+        snapshot.onPolicyChanged(PolicyChangedEvent.created(policy(3L, PolicyStatus.ACTIVE, "Honda", null)));
+        snapshot.applyAll(List.of(policy(4L, PolicyStatus.ACTIVE, "Ford", new BigDecimal("99.99"))));
+
+        assertEquals(List.of(1L), ids(snapshot.filter(filter(PolicyStatus.EXPIRED, null, null, null))));
+        assertEquals(List.of(3L, 4L), ids(snapshot.filter(filter(PolicyStatus.ACTIVE, null, null, null))));
+        assertEquals(3, snapshot.size());
+    }
+
+    @Test
+    void shouldNotResurrectPoliciesDeletedWhileLoading() {
+        snapshot.load(sink -> {
+            snapshot.onPolicyChanged(PolicyChangedEvent.deleted(2L));
+            sink.accept(policy(1L, PolicyStatus.ACTIVE, "Ford", null));
+            sink.accept(policy(2L, PolicyStatus.ACTIVE, "Ford", null));
+        });
+
+        assertEquals(List.of(1L), ids(snapshot.filter(all())));
+    }
+
+    @Test
+    void shouldRoundFractionalPremiumBoundsInwards() {
+        snapshot.load(sink -> {
+            sink.accept(policy(1L, PolicyStatus.ACTIVE, "Ford", new BigDecimal("100.00")));
+            sink.accept(policy(2L, PolicyStatus.ACTIVE, "Ford", new BigDecimal("100.01")));
+            sink.accept(policy(3L, PolicyStatus.ACTIVE, "Ford", null));
+        });
+
+        assertEquals(List.of(2L), ids(snapshot.filter(filter(null, null, 100.001, null))));
+        assertEquals(List.of(1L), ids(snapshot.filter(filter(null, null, null, 100.009))));
+        assertEquals(List.of(), ids(snapshot.filter(filter(null, "chevrolet", null, null))));
+    }
+
+    @Test
+    void shouldStayEmptyWhenDisabled() {
+        PolicySnapshot disabled = new PolicySnapshot(false);
+        disabled.load(sink -> sink.accept(policy(1L, PolicyStatus.ACTIVE, "Ford", null)));
+        disabled.onPolicyChanged(PolicyChangedEvent.created(policy(2L, PolicyStatus.ACTIVE, "Ford", null)));
+
+        assertFalse(disabled.isReady());
+        assertEquals(0, disabled.size());
+    }
+
+    private static PolicyFilter randomFilter(Random random) {
+        LocalDate start = random.nextInt(3) == 0 ? LocalDate.of(2023, 1, 1).plusDays(random.nextInt(700)) : null;
+        LocalDate end = random.nextInt(3) == 0 ? LocalDate.of(2024, 1, 1).plusDays(random.nextInt(700)) : null;
+        PolicyStatus status = random.nextInt(3) == 0 ? PolicyStatus.values()[random.nextInt(3)] : null;
+        AutoPolicyType type = random.nextInt(3) == 0 ? AutoPolicyType.values()[random.nextInt(3)] : null;
+        String make = random.nextInt(3) == 0 ? new String[]{"toy", "ford", "o", " HONDA ", "x"}[random.nextInt(5)] : null;
+        String first = random.nextInt(4) == 0 ? new String[]{"ann", "an", "b"}[random.nextInt(3)] : null;
+        String last = random.nextInt(4) == 0 ? "a" : null;
+        Double min = random.nextInt(3) == 0 ? random.nextInt(200_000) / 100.0 : null;
+        Double max = random.nextInt(3) == 0 ? random.nextInt(200_000) / 100.0 : null;
+        Long userId = random.nextInt(5) == 0 ? (long) random.nextInt(20) : null;
+        return PolicyFilter.of(start, end, status, type, make, first, last, min, max, userId);
+    }
+
+    private static AutoPolicyDTO randomPolicy(long id, Random random) {
+        AutoPolicyDTO policy = new AutoPolicyDTO();
+        policy.setId(id);
+        policy.setPolicyNumber("AP-" + id);
+        policy.setUserId((long) random.nextInt(20));
+        policy.setStatus(PolicyStatus.values()[random.nextInt(3)]);
+        policy.setPolicyType(AutoPolicyType.values()[random.nextInt(3)]);
+        policy.setVehicleMake(MAKES[random.nextInt(MAKES.length)]);
+        policy.setFirstName(NAMES[random.nextInt(NAMES.length)]);
+        policy.setLastName(NAMES[random.nextInt(NAMES.length)]);
+        policy.setStartDate(random.nextInt(10) == 0 ? null : LocalDate.of(2023, 1, 1).plusDays(random.nextInt(730)));
+        policy.setEndDate(random.nextInt(10) == 0 ? null : LocalDate.of(2024, 1, 1).plusDays(random.nextInt(730)));
+        policy.setPremiumAmount(random.nextInt(10) == 0 ? null : BigDecimal.valueOf(random.nextInt(200_000), 2));
+        return policy;
+    }
+
+    private static AutoPolicyDTO policy(long id, PolicyStatus status, String make, BigDecimal premium) {
+        AutoPolicyDTO policy = new AutoPolicyDTO();
+        policy.setId(id);
+        policy.setPolicyNumber("AP-" + id);
+        policy.setUserId(1L);
+        policy.setStatus(status);
+        policy.setPolicyType(AutoPolicyType.COLLISION);
+        policy.setVehicleMake(make);
+        policy.setStartDate(LocalDate.of(2024, 1, 1));
+        policy.setEndDate(LocalDate.of(2025, 1, 1));
+        policy.setPremiumAmount(premium);
+        return policy;
+    }
+
+    private static PolicyFilter filter(PolicyStatus status, String make, Double minPremium, Double maxPremium) {
+        return PolicyFilter.of(null, null, status, null, make, null, null, minPremium, maxPremium, null);
+    }
+
+    private static PolicyFilter all() {
+        return filter(null, null, null, null);
+    }
+
+    private static List<Long> ids(List<AutoPolicyDTO> policies) {
+        return policies.stream().map(AutoPolicyDTO::getId).toList();
+    }
+}
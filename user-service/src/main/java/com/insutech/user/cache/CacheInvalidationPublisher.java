@@ -0,0 +1,55 @@
+package com.insutech.user.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+/**
+ * Broadcasts L1 invalidations to every user-service instance over Redis pub/sub.
+ * Messages carry the sender's id so an instance ignores its own writes.
+ *
+ * <p>Message format: {@code origin<TAB>op<TAB>cache[<TAB>key]} where op is
+ * {@code E} (evict one key) or {@code C} (clear the region).
+ */
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    static final String EVICT = "E";
+    static final String CLEAR = "C";
+    static final String SEPARATOR = "\t";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish(String.join(SEPARATOR, instanceId, EVICT, cacheName, key));
+    }
+
+    public void publishClear(String cacheName) {
+        publish(String.join(SEPARATOR, instanceId, CLEAR, cacheName));
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (RuntimeException e) {
+            // Peers fall back to their L1 expiry; the Redis tier is already up to date
+            log.warn("Could not publish cache invalidation on {}: {}", channel, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.insutech.user.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A cache region with a local Caffeine L1 in front of a shared Redis L2.
+ *
+ * <p>Reads try L1 first and fill it from L2 on a miss. Writes go to both tiers and
+ * tell the other instances to drop their L1 copy, so a hot entry is served from local
+ * memory without a network round trip or deserialization. L1 keys are the string form
+ * of the cache key, which is also what Redis uses, so an invalidation message can name
+ * the key on any instance.
+ */
+public class TwoTierCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final CacheInvalidationPublisher invalidations;
+
+    public TwoTierCache(String name,
+                        com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                        Cache remote,
+                        CacheInvalidationPublisher invalidations) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidations = invalidations;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = key.toString();
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            local.put(localKey, wrapper.get());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = key.toString();
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return (T) value;
+        }
+        T loaded = remote.get(key, valueLoader);
+        if (loaded != null) {
+            local.put(localKey, loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        if (value != null) {
+            local.put(key.toString(), value);
+        }
+        invalidations.publishEvict(name, key.toString());
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(key.toString());
+        invalidations.publishEvict(name, key.toString());
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        invalidations.publishClear(name);
+    }
+
+    /**
+     * Drop the L1 copy only; called when another instance changed the entry.
+     */
+    void evictLocal(String key) {
+        local.invalidate(key);
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+    }
+}
@@ -0,0 +1,85 @@
+package com.insutech.user.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps the Redis cache manager so every region gets a Caffeine L1 (see
+ * {@link TwoTierCache}) and listens for invalidations published by other instances.
+ *
+ * <p>The L1 TTL is kept well below the Redis TTLs; it bounds staleness if an
+ * invalidation message is lost while an instance is disconnected from Redis.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    private final CacheManager remote;
+    private final CacheInvalidationPublisher invalidations;
+    private final long localMaxSize;
+    private final Duration localTtl;
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager remote,
+                               CacheInvalidationPublisher invalidations,
+                               long localMaxSize,
+                               Duration localTtl) {
+        this.remote = remote;
+        this.invalidations = invalidations;
+        this.localMaxSize = localMaxSize;
+        this.localTtl = localTtl;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoTierCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remoteCache = remote.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> new TwoTierCache(n,
+                Caffeine.newBuilder()
+                        .maximumSize(localMaxSize)
+                        .expireAfterWrite(localTtl)
+                        .recordStats()
+                        .build(),
+                remoteCache,
+                invalidations));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8)
+                .split(CacheInvalidationPublisher.SEPARATOR, 4);
+        if (parts.length < 3 || parts[0].equals(invalidations.getInstanceId())) {
+            return;
+        }
+        TwoTierCache cache = caches.get(parts[2]);
+        if (cache == null) {
+            return; // nothing cached locally for this region yet
+        }
+        if (CacheInvalidationPublisher.CLEAR.equals(parts[1])) {
+            cache.clearLocal();
+        } else if (CacheInvalidationPublisher.EVICT.equals(parts[1]) && parts.length == 4) {
+            cache.evictLocal(parts[3]);
+        }
+        log.debug("Applied remote invalidation {} on {}", parts[1], parts[2]);
+    }
+}
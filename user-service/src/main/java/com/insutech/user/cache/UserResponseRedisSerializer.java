@@ -0,0 +1,155 @@
+package com.insutech.user.cache;
+
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.insutech.user.dto.UserResponse;
+import com.insutech.user.enums.Role;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary encoding for {@link UserResponse} and {@code List<UserResponse>} cache
+ * values, with no type hints or field names on the wire.
+ *
+ * <p>Layout: a format version byte, a shape byte (single user or list), then the fields
+ * in declaration order. Nullable fields are prefixed with a presence flag and the role is
+ * written by name, so reordering the enum does not corrupt cached values.
+ *
+ * <p>Any other value, and any stored value whose first byte is not a known format
+ * version, goes through the JSON serializer. JSON always starts with {@code '{'} or
+ * {@code '['}, so entries written before the switch (or by an instance still on JSON
+ * during a rolling deploy) keep deserializing. A future format takes the next version
+ * byte and keeps reading this one.
+ */
+public class UserResponseRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte FORMAT_V1 = 1;
+
+    private static final byte SINGLE = 0;
+    private static final byte LIST = 1;
+
+    private final RedisSerializer<Object> fallback;
+
+    public UserResponseRedisSerializer() {
+        this(jsonSerializer());
+    }
+
+    public UserResponseRedisSerializer(RedisSerializer<Object> fallback) {
+        this.fallback = fallback;
+    }
+
+    /**
+     * The JSON format, able to write {@code LocalDateTime} fields such as
+     * {@code UserResponse.createdAt}.
+     */
+    public static GenericJackson2JsonRedisSerializer jsonSerializer() {
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+        json.configure(mapper -> mapper.registerModule(new JavaTimeModule()));
+        return json;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value instanceof UserResponse user) {
+            return write(SINGLE, List.of(user));
+        }
+        if (value instanceof List<?> list && list.stream().allMatch(UserResponse.class::isInstance)) {
+            @SuppressWarnings("unchecked")
+            List<UserResponse> users = (List<UserResponse>) list;
+            return write(LIST, users);
+        }
+        return fallback.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != FORMAT_V1) {
+            return fallback.deserialize(bytes);
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1))) {
+            byte shape = in.readByte();
+            if (shape == SINGLE) {
+                return readUser(in);
+            }
+            int size = in.readInt();
+            List<UserResponse> users = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                users.add(readUser(in));
+            }
+            return users;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new SerializationException("Cannot read cached user value", e);
+        }
+    }
+
+    private byte[] write(byte shape, List<UserResponse> users) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * users.size() + 8);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_V1);
+            out.writeByte(shape);
+            if (shape == LIST) {
+                out.writeInt(users.size());
+            }
+            for (UserResponse user : users) {
+                writeUser(out, user);
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Cannot write cached user value", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeUser(DataOutputStream out, UserResponse user) throws IOException {
+        out.writeBoolean(user.getId() != null);
+        if (user.getId() != null) {
+            out.writeLong(user.getId());
+        }
+        writeString(out, user.getUsername());
+        writeString(out, user.getEmail());
+        writeString(out, user.getRole() != null ? user.getRole().name() : null);
+        out.writeBoolean(user.isActive());
+        out.writeBoolean(user.getCreatedAt() != null);
+        if (user.getCreatedAt() != null) {
+            out.writeLong(user.getCreatedAt().toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(user.getCreatedAt().getNano());
+        }
+    }
+
+    private static UserResponse readUser(DataInputStream in) throws IOException {
+        UserResponse user = new UserResponse();
+        user.setId(in.readBoolean() ? in.readLong() : null);
+        user.setUsername(readString(in));
+        user.setEmail(readString(in));
+        String role = readString(in);
+        user.setRole(role != null ? Role.valueOf(role) : null);
+        user.setActive(in.readBoolean());
+        if (in.readBoolean()) {
+            user.setCreatedAt(LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC));
+        }
+        return user;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
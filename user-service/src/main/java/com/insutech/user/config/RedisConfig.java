@@ -1,14 +1,21 @@
 package com.insutech.user.config;
 
-import org.springframework.cache.CacheManager;
+import com.insutech.user.cache.CacheInvalidationPublisher;
+import com.insutech.user.cache.TwoTierCacheManager;
+import com.insutech.user.cache.UserResponseRedisSerializer;
+import com.insutech.user.directory.UserDirectorySynchronizer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.time.Duration;
 import java.util.HashMap;
@@ -19,25 +26,66 @@ import java.util.Map;
 public class RedisConfig {
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheInvalidationPublisher cacheInvalidationPublisher(
+            StringRedisTemplate redisTemplate,
+            @Value("${user.cache.invalidation-channel:user-service:cache-invalidation}") String channel) {
+        return new CacheInvalidationPublisher(redisTemplate, channel);
+    }
+
+    /**
+     * Redis (L2, shared) behind a per-instance Caffeine L1. Writes on any instance
+     * invalidate the other instances' L1 through Redis pub/sub.
+     */
+    @Bean
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                            CacheInvalidationPublisher invalidationPublisher,
+                                            @Value("${user.cache.l1.max-size:10000}") long localMaxSize,
+                                            @Value("${user.cache.l1.ttl:60s}") Duration localTtl,
+                                            @Value("${user.cache.serializer:binary}") String serializer) {
 
         // 🔹 Default config (if cache name not matched)
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(30)) // default 30 min
                 .disableCachingNullValues()
                 .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer())
+                        RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer(serializer))
                 );
 
         // 🔹 Custom TTLs per cache name
         Map<String, RedisCacheConfiguration> cacheConfigs = new HashMap<>();
         cacheConfigs.put("users", defaultConfig.entryTtl(Duration.ofMinutes(10)));       // cache single user 10 min
-        cacheConfigs.put("usersByRole", defaultConfig.entryTtl(Duration.ofMinutes(20))); // cache by role 20 min
-        cacheConfigs.put("allUsers", defaultConfig.entryTtl(Duration.ofMinutes(2)));     // cache all users 2 min
+        // User listings are served by UserDirectory, not cached here
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigs)
                 .build();
+        redisCacheManager.afterPropertiesSet(); // not a bean itself, so initialise here
+
+        return new TwoTierCacheManager(redisCacheManager, invalidationPublisher, localMaxSize, localTtl);
+    }
+
+    /**
+     * "binary" (default) stores users compactly and still reads JSON entries; "json" is
+     * the GenericJackson2JsonRedisSerializer format used before.
+     */
+    private static RedisSerializer<Object> valueSerializer(String serializer) {
+        return switch (serializer.toLowerCase()) {
+            case "binary" -> new UserResponseRedisSerializer();
+            case "json" -> UserResponseRedisSerializer.jsonSerializer();
+            default -> throw new IllegalArgumentException("Unknown user.cache.serializer: " + serializer);
+        };
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            TwoTierCacheManager cacheManager,
+                                                                            CacheInvalidationPublisher invalidationPublisher,
+                                                                            UserDirectorySynchronizer directorySynchronizer) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(invalidationPublisher.getChannel()));
+        container.addMessageListener(directorySynchronizer, new ChannelTopic(directorySynchronizer.getChannel()));
+        return container;
     }
 }
@@ -17,6 +17,7 @@ public class UserCorsConfig {
                         .allowedOrigins("http://localhost:5173")
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                         .allowedHeaders("*")
+                        .exposedHeaders("X-Next-Cursor", "X-Total-Count", "Deprecation")
                         .allowCredentials(true);
             }
         };
@@ -1,5 +1,6 @@
 package com.insutech.user.controller;
 
+import com.insutech.user.dto.UserLookupRequest;
 import com.insutech.user.dto.UserRequest;
 import com.insutech.user.dto.UserResponse;
 import com.insutech.user.service.UserService;
@@ -16,6 +17,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController {
 
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String DEPRECATION_HEADER = "Deprecation";
+    static final int MAX_PAGE_SIZE = 500;
+    static final int UNPAGED_LIMIT = 1000;
+
     private final UserService userService;
 
     @PostMapping
@@ -30,16 +37,49 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Resolve many users in one call; ids that do not exist are left out. Responses are
+     * ordered by id.
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<List<UserResponse>> lookupUsers(@Valid @RequestBody UserLookupRequest lookupRequest) {
+        return ResponseEntity.ok(userService.getUsersByIds(lookupRequest.getIds()));
+    }
+
+    /**
+     * Users with the role in id order, one page after the id given in {@code after}, plus
+     * the total in {@code X-Total-Count}. When more follow, {@code X-Next-Cursor} carries
+     * the id to pass back as {@code after}. Without {@code after} the first
+     * {@value #UNPAGED_LIMIT} are returned, marked deprecated.
+     */
     @GetMapping("/role/{role}")
-    public ResponseEntity<List<UserResponse>> getUsersByRole(@PathVariable String role) {
-        List<UserResponse> responses = userService.getUsersByRole(role);
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<List<UserResponse>> getUsersByRole(@PathVariable String role,
+                                                             @RequestParam(required = false) Long after,
+                                                             @RequestParam(defaultValue = "50") int size) {
+        if (after == null) {
+            return unpaged(userService.getUsersByRole(role, 0, UNPAGED_LIMIT + 1));
+        }
+        int pageSize = pageSize(size);
+        List<UserResponse> users = userService.getUsersByRole(role, after, pageSize + 1);
+        return page(users, pageSize)
+                .header(TOTAL_COUNT_HEADER, String.valueOf(userService.countUsersByRole(role)))
+                .body(firstPage(users, pageSize));
     }
 
+    /**
+     * Same paging as {@link #getUsersByRole} over all users.
+     */
     @GetMapping
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        List<UserResponse> responses = userService.getAllUsers();
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<List<UserResponse>> getAllUsers(@RequestParam(required = false) Long after,
+                                                          @RequestParam(defaultValue = "50") int size) {
+        if (after == null) {
+            return unpaged(userService.getAllUsers(0, UNPAGED_LIMIT + 1));
+        }
+        int pageSize = pageSize(size);
+        List<UserResponse> users = userService.getAllUsers(after, pageSize + 1);
+        return page(users, pageSize)
+                .header(TOTAL_COUNT_HEADER, String.valueOf(userService.countUsers()))
+                .body(firstPage(users, pageSize));
     }
 
     @DeleteMapping("/{id}")
@@ -55,4 +95,29 @@ public class UserController {
         UserResponse response = userService.updateUser(id, userRequest);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    private static ResponseEntity<List<UserResponse>> unpaged(List<UserResponse> users) {
+        return page(users, UNPAGED_LIMIT)
+                .header(DEPRECATION_HEADER, "true")
+                .body(firstPage(users, UNPAGED_LIMIT));
+    }
+
+    /**
+     * @param users up to {@code size + 1} users; the extra one only signals that more follow
+     */
+    private static ResponseEntity.BodyBuilder page(List<UserResponse> users, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (users.size() > size) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(users.get(size - 1).getId()));
+        }
+        return response;
+    }
+
+    private static List<UserResponse> firstPage(List<UserResponse> users, int size) {
+        return users.size() > size ? users.subList(0, size) : users;
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
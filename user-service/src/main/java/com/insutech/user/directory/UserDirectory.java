@@ -0,0 +1,131 @@
+package com.insutech.user.directory;
+
+import com.insutech.user.dto.UserResponse;
+import com.insutech.user.enums.Role;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory copy of the users table: a primary map by id plus secondary indexes by
+ * role, username and email. Listings seek into the id-ordered maps past the last id
+ * read, so they never touch the database or walk earlier pages.
+ *
+ * <p>Writes are serialised and keep every index consistent with the primary map;
+ * reads are lock-free and may briefly see a user in its old index during a role change.
+ */
+@Component
+public class UserDirectory {
+
+    private final ConcurrentSkipListMap<Long, UserResponse> byId = new ConcurrentSkipListMap<>();
+    private final Map<Role, NavigableSet<Long>> byRole = new EnumMap<>(Role.class);
+    private final Map<String, Long> byUsername = new ConcurrentHashMap<>();
+    private final Map<String, Long> byEmail = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public UserDirectory() {
+        for (Role role : Role.values()) {
+            byRole.put(role, new ConcurrentSkipListSet<>());
+        }
+    }
+
+    /**
+     * Replace the whole directory, e.g. from a full read at startup.
+     */
+    public synchronized void load(Collection<UserResponse> users) {
+        byId.clear();
+        byRole.values().forEach(NavigableSet::clear);
+        byUsername.clear();
+        byEmail.clear();
+        users.forEach(this::index);
+        loaded = true;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public synchronized void upsert(UserResponse user) {
+        unindex(byId.get(user.getId()));
+        index(user);
+    }
+
+    public synchronized void remove(Long id) {
+        unindex(byId.get(id));
+    }
+
+    public Optional<UserResponse> findById(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public Optional<UserResponse> findByUsername(String username) {
+        return Optional.ofNullable(byUsername.get(username)).map(byId::get);
+    }
+
+    public Optional<UserResponse> findByEmail(String email) {
+        return Optional.ofNullable(byEmail.get(email)).map(byId::get);
+    }
+
+    /**
+     * @param afterId id of the last user already read; the page starts after it
+     */
+    public List<UserResponse> findAll(long afterId, int size) {
+        return byId.tailMap(afterId, false).values().stream()
+                .limit(size)
+                .toList();
+    }
+
+    public List<UserResponse> findByRole(Role role, long afterId, int size) {
+        return byRole.get(role).tailSet(afterId, false).stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .limit(size)
+                .toList();
+    }
+
+    public long count() {
+        return byId.size();
+    }
+
+    public long countByRole(Role role) {
+        return byRole.get(role).size();
+    }
+
+    private void index(UserResponse user) {
+        byId.put(user.getId(), user);
+        if (user.getRole() != null) {
+            byRole.get(user.getRole()).add(user.getId());
+        }
+        if (user.getUsername() != null) {
+            byUsername.put(user.getUsername(), user.getId());
+        }
+        if (user.getEmail() != null) {
+            byEmail.put(user.getEmail(), user.getId());
+        }
+    }
+
+    private void unindex(UserResponse user) {
+        if (user == null) {
+            return;
+        }
+        byId.remove(user.getId());
+        if (user.getRole() != null) {
+            byRole.get(user.getRole()).remove(user.getId());
+        }
+        if (user.getUsername() != null) {
+            byUsername.remove(user.getUsername(), user.getId());
+        }
+        if (user.getEmail() != null) {
+            byEmail.remove(user.getEmail(), user.getId());
+        }
+    }
+}
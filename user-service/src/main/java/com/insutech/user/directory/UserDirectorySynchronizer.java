@@ -0,0 +1,88 @@
+package com.insutech.user.directory;
+
+import com.insutech.user.event.UserChangedEvent;
+import com.insutech.user.mapper.UserMapper;
+import com.insutech.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Keeps the {@link UserDirectory} in step with the users table.
+ *
+ * <ul>
+ *   <li>Loads it with one full read before the application starts serving requests.</li>
+ *   <li>Applies this instance's writes once their transaction commits.</li>
+ *   <li>Announces each changed id on Redis pub/sub; other instances re-read just that
+ *       user from the database.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class UserDirectorySynchronizer implements SmartInitializingSingleton, MessageListener {
+
+    private static final String SEPARATOR = "\t";
+
+    private final UserDirectory userDirectory;
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public UserDirectorySynchronizer(UserDirectory userDirectory,
+                                     UserRepository userRepository,
+                                     UserMapper userMapper,
+                                     StringRedisTemplate redisTemplate,
+                                     @Value("${user.directory.channel:user-service:directory}") String channel) {
+        this.userDirectory = userDirectory;
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        userDirectory.load(userMapper.toResponseList(userRepository.findAll()));
+        log.info("User directory loaded with {} users", userDirectory.count());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.isDelete()) {
+            userDirectory.remove(event.userId());
+        } else {
+            userDirectory.upsert(event.user());
+        }
+        try {
+            redisTemplate.convertAndSend(channel, instanceId + SEPARATOR + event.userId());
+        } catch (RuntimeException e) {
+            log.warn("Could not announce change of user {}: {}", event.userId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 2);
+        if (parts.length < 2 || parts[0].equals(instanceId)) {
+            return;
+        }
+        Long id = Long.valueOf(parts[1]);
+        userRepository.findById(id)
+                .map(userMapper::toResponse)
+                .ifPresentOrElse(userDirectory::upsert, () -> userDirectory.remove(id));
+    }
+}
@@ -0,0 +1,18 @@
+package com.insutech.user.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.Set;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserLookupRequest {
+    @NotEmpty(message = "At least one id is required")
+    @Size(max = 1000, message = "At most 1000 ids per lookup")
+    private Set<Long> ids;
+}
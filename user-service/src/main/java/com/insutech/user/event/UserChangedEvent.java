@@ -0,0 +1,24 @@
+package com.insutech.user.event;
+
+import com.insutech.user.dto.UserResponse;
+
+/**
+ * Published by the user service after a user is created, updated or deleted.
+ *
+ * @param userId id of the changed user
+ * @param user   state after the write, or null when the user was deleted
+ */
+public record UserChangedEvent(Long userId, UserResponse user) {
+
+    public static UserChangedEvent saved(UserResponse user) {
+        return new UserChangedEvent(user.getId(), user);
+    }
+
+    public static UserChangedEvent deleted(Long userId) {
+        return new UserChangedEvent(userId, null);
+    }
+
+    public boolean isDelete() {
+        return user == null;
+    }
+}
@@ -0,0 +1,103 @@
+package com.insutech.user.lookup;
+
+import com.insutech.user.dto.UserResponse;
+import com.insutech.user.mapper.UserMapper;
+import com.insutech.user.repository.UserRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces user loads by id. Ids requested within a short window are fetched together
+ * with one {@code findAllById}; a caller asking for an id that is already waiting
+ * shares that id's result instead of adding another fetch.
+ */
+@Component
+public class UserBatchLoader implements DisposableBean {
+
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-batch-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Map<Long, CompletableFuture<Optional<UserResponse>>> pending = new HashMap<>();
+
+    public UserBatchLoader(UserRepository userRepository,
+                           UserMapper userMapper,
+                           @Value("${user.lookup.batch-window:5ms}") Duration window,
+                           @Value("${user.lookup.max-batch-size:1000}") int maxBatchSize) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * @return the users that exist among {@code ids}, keyed by id
+     */
+    public CompletableFuture<Map<Long, UserResponse>> load(Collection<Long> ids) {
+        Map<Long, CompletableFuture<Optional<UserResponse>>> futures = new HashMap<>();
+        boolean flushNow = false;
+        synchronized (this) {
+            boolean firstInBatch = pending.isEmpty();
+            for (Long id : ids) {
+                futures.put(id, pending.computeIfAbsent(id, key -> new CompletableFuture<>()));
+            }
+            if (pending.size() >= maxBatchSize) {
+                flushNow = true;
+            } else if (firstInBatch && !pending.isEmpty()) {
+                scheduler.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (flushNow) {
+            flush();
+        }
+
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .thenApply(done -> {
+                    Map<Long, UserResponse> users = new HashMap<>();
+                    futures.forEach((id, future) -> future.join().ifPresent(user -> users.put(id, user)));
+                    return users;
+                });
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private void flush() {
+        Map<Long, CompletableFuture<Optional<UserResponse>>> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return; // already flushed because the batch filled up
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        try {
+            List<UserResponse> users = userMapper.toResponseList(userRepository.findAllById(batch.keySet()));
+            Map<Long, UserResponse> byId = new HashMap<>();
+            users.forEach(user -> byId.put(user.getId(), user));
+            batch.forEach((id, future) -> future.complete(Optional.ofNullable(byId.get(id))));
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+}
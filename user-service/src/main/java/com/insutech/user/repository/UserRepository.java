@@ -9,9 +9,6 @@ import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRole(Role role);
-    boolean existsByUsername(String username);
-    boolean existsByEmail(String email);
-    boolean existsByUsernameAndIdNot(String username, Long id);
-    boolean existsByEmailAndIdNot(String email, Long id);
+    List<User> findByUsernameOrEmail(String username, String email);
     Optional<User> findByUsername(String username);
 }
\ No newline at end of file
@@ -3,13 +3,17 @@ package com.insutech.user.service;
 import com.insutech.user.dto.UserRequest;
 import com.insutech.user.dto.UserResponse;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface UserService {
     UserResponse createUser(UserRequest userRequest);
     UserResponse getUserById(Long id);
-    List<UserResponse> getUsersByRole(String role);
-    List<UserResponse> getAllUsers();
+    List<UserResponse> getUsersByIds(Collection<Long> ids);
+    List<UserResponse> getUsersByRole(String role, long afterId, int size);
+    long countUsersByRole(String role);
+    List<UserResponse> getAllUsers(long afterId, int size);
+    long countUsers();
     void deleteUser(Long id);
     UserResponse updateUser(Long id, UserRequest userRequest);
 }
\ No newline at end of file
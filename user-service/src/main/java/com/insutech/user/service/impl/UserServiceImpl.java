@@ -1,23 +1,34 @@
 package com.insutech.user.service.impl;
 
+import com.insutech.user.directory.UserDirectory;
 import com.insutech.user.dto.UserRequest;
 import com.insutech.user.dto.UserResponse;
 import com.insutech.user.entity.User;
 import com.insutech.user.enums.Role;
+import com.insutech.user.event.UserChangedEvent;
 import com.insutech.user.exception.InvalidRoleException;
 import com.insutech.user.exception.UserAlreadyExistsException;
 import com.insutech.user.exception.UserNotFoundException;
+import com.insutech.user.lookup.UserBatchLoader;
 import com.insutech.user.mapper.UserMapper;
 import com.insutech.user.repository.UserRepository;
 import com.insutech.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 @RequiredArgsConstructor
@@ -26,26 +37,32 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-
+    private final UserDirectory userDirectory;
+    private final UserBatchLoader userBatchLoader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * One INSERT; the unique constraints on username and email decide conflicts, so two
+     * concurrent requests for the same name cannot both succeed. Not transactional at this
+     * level because the conflict lookup has to run after the failed insert rolled back.
+     */
     @Override
-    @Transactional
-    @CacheEvict(value = {"users", "usersByRole", "allUsers"}, allEntries = true)
+    @CachePut(value = "users", key = "#result.id")
     public UserResponse createUser(UserRequest userRequest) {
         validateUserRequest(userRequest);
 
-        if (userRepository.existsByUsername(userRequest.getUsername())) {
-            throw new UserAlreadyExistsException("Username already exists: " + userRequest.getUsername());
-        }
-
-        if (userRepository.existsByEmail(userRequest.getEmail())) {
-            throw new UserAlreadyExistsException("Email already exists: " + userRequest.getEmail());
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(userMapper.toEntity(userRequest));
+        } catch (DataIntegrityViolationException e) {
+            throw conflict(userRequest, null, e);
         }
 
-        User user = userMapper.toEntity(userRequest);
-        User savedUser = userRepository.save(user);
-
         log.info("User created successfully: {}", savedUser.getUsername());
-        return userMapper.toResponse(savedUser);
+        UserResponse response = userMapper.toResponse(savedUser);
+        eventPublisher.publishEvent(UserChangedEvent.saved(response));
+        return response;
     }
 
     @Override
@@ -56,60 +73,109 @@ public class UserServiceImpl implements UserService {
         return userMapper.toResponse(user);
     }
 
+    /**
+     * Users from the in-memory directory; ids it does not know yet (for example a user
+     * created on another instance a moment ago) go through the coalescing batch loader.
+     */
     @Override
-    @Cacheable(value = "usersByRole", key = "#role")  // ✅ Cache by role
-    public List<UserResponse> getUsersByRole(String role) {
-        try {
-            Role userRole = Role.valueOf(role.toUpperCase());
-            List<User> users = userRepository.findByRole(userRole);
-            return userMapper.toResponseList(users);
-        } catch (IllegalArgumentException e) {
-            throw new InvalidRoleException("Invalid role: " + role);
+    public List<UserResponse> getUsersByIds(Collection<Long> ids) {
+        Map<Long, UserResponse> found = new TreeMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            userDirectory.findById(id).ifPresentOrElse(user -> found.put(id, user), () -> misses.add(id));
         }
+        if (!misses.isEmpty()) {
+            found.putAll(userBatchLoader.load(misses).join());
+        }
+        return new ArrayList<>(found.values());
+    }
+
+    @Override
+    public List<UserResponse> getUsersByRole(String role, long afterId, int size) {
+        return userDirectory.findByRole(parseRole(role), afterId, size);
+    }
+
+    @Override
+    public long countUsersByRole(String role) {
+        return userDirectory.countByRole(parseRole(role));
+    }
+
+    @Override
+    public List<UserResponse> getAllUsers(long afterId, int size) {
+        return userDirectory.findAll(afterId, size);
     }
 
     @Override
-    @Cacheable(value = "allUsers", key = "'all'")  // ✅ Cache all users
-    public List<UserResponse> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        return userMapper.toResponseList(users);
+    public long countUsers() {
+        return userDirectory.count();
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = {"users", "usersByRole", "allUsers"}, allEntries = true) // ✅ Clear caches
+    @CacheEvict(value = "users", key = "#id") // ✅ Only this user's entry; listings come from UserDirectory
     public void deleteUser(Long id) {
         if (!userRepository.existsById(id)) {
             throw new UserNotFoundException(id);
         }
         userRepository.deleteById(id);
         log.info("User deleted with id: {}", id);
+        eventPublisher.publishEvent(UserChangedEvent.deleted(id));
     }
 
+    /**
+     * A SELECT and an UPDATE in one transaction; as in {@link #createUser}, conflicts are
+     * left to the unique constraints and explained after the rollback.
+     */
     @Override
-    @Transactional
-    @CacheEvict(value = {"users", "usersByRole", "allUsers"}, allEntries = true) // ✅ Clear caches
+    @CachePut(value = "users", key = "#id") // ✅ Replace this user's entry in place
     public UserResponse updateUser(Long id, UserRequest userRequest) {
         validateUserRequest(userRequest);
 
-        User existingUser = userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException(id));
-
-        if (userRepository.existsByUsernameAndIdNot(userRequest.getUsername(), id)) {
-            throw new UserAlreadyExistsException("Username already exists: " + userRequest.getUsername());
+        User updatedUser;
+        try {
+            updatedUser = transactionTemplate.execute(status -> {
+                User existingUser = userRepository.findById(id)
+                        .orElseThrow(() -> new UserNotFoundException(id));
+                existingUser.setUsername(userRequest.getUsername());
+                existingUser.setEmail(userRequest.getEmail());
+                existingUser.setRole(userRequest.getRole());
+                return userRepository.saveAndFlush(existingUser);
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw conflict(userRequest, id, e);
         }
 
-        if (userRepository.existsByEmailAndIdNot(userRequest.getEmail(), id)) {
-            throw new UserAlreadyExistsException("Email already exists: " + userRequest.getEmail());
-        }
+        log.info("User updated successfully: {}", updatedUser.getUsername());
+        UserResponse response = userMapper.toResponse(updatedUser);
+        eventPublisher.publishEvent(UserChangedEvent.saved(response));
+        return response;
+    }
 
-        existingUser.setUsername(userRequest.getUsername());
-        existingUser.setEmail(userRequest.getEmail());
-        existingUser.setRole(userRequest.getRole());
+    /**
+     * Name the field that collided, with one query for either value. If no other user
+     * holds either value any more (the conflicting row was deleted in the meantime) the
+     * original violation is rethrown.
+     */
+    private RuntimeException conflict(UserRequest userRequest, Long id, DataIntegrityViolationException cause) {
+        List<User> holders = userRepository.findByUsernameOrEmail(userRequest.getUsername(), userRequest.getEmail())
+                .stream()
+                .filter(user -> !user.getId().equals(id))
+                .toList();
+        if (holders.stream().anyMatch(user -> user.getUsername().equals(userRequest.getUsername()))) {
+            return new UserAlreadyExistsException("Username already exists: " + userRequest.getUsername());
+        }
+        if (holders.stream().anyMatch(user -> user.getEmail().equals(userRequest.getEmail()))) {
+            return new UserAlreadyExistsException("Email already exists: " + userRequest.getEmail());
+        }
+        return cause;
+    }
 
-        User updatedUser = userRepository.save(existingUser);
-        log.info("User updated successfully: {}", updatedUser.getUsername());
-        return userMapper.toResponse(updatedUser);
+    private Role parseRole(String role) {
+        try {
+            return Role.valueOf(role.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRoleException("Invalid role: " + role);
+        }
     }
 
     private void validateUserRequest(UserRequest userRequest) {
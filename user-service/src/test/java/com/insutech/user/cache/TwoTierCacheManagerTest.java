@@ -0,0 +1,74 @@
+package com.insutech.user.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TwoTierCacheManagerTest {
+
+    private ConcurrentMapCacheManager remote;
+    private CacheInvalidationPublisher publisher;
+    private TwoTierCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCacheManager("users");
+        publisher = mock(CacheInvalidationPublisher.class);
+        when(publisher.getInstanceId()).thenReturn("self");
+        cacheManager = new TwoTierCacheManager(remote, publisher, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldServeRepeatReadsFromLocalTier() {
+        remote.getCache("users").put(1L, "alice");
+        Cache users = cacheManager.getCache("users");
+
+        assertEquals("alice", users.get(1L).get());
+        remote.getCache("users").evict(1L); // L2 gone, L1 still holds it
+
+        assertEquals("alice", users.get(1L).get());
+    }
+
+    @Test
+    void shouldWriteThroughAndPublishInvalidation() {
+        Cache users = cacheManager.getCache("users");
+
+        users.put(1L, "alice");
+        users.evict(2L);
+        users.clear();
+
+        verify(publisher).publishEvict("users", "1");
+        verify(publisher).publishEvict("users", "2");
+        verify(publisher).publishClear("users");
+    }
+
+    @Test
+    void shouldDropLocalEntryOnRemoteInvalidationOnly() {
+        Cache users = cacheManager.getCache("users");
+        users.put(1L, "alice");
+        remote.getCache("users").put(1L, "alice-v2"); // another instance rewrote L2
+
+        cacheManager.onMessage(message("self\tE\tusers\t1"), null);
+        assertEquals("alice", users.get(1L).get());
+
+        cacheManager.onMessage(message("peer\tE\tusers\t1"), null);
+        assertEquals("alice-v2", users.get(1L).get());
+
+        remote.getCache("users").put(1L, "alice-v3");
+        cacheManager.onMessage(message("peer\tC\tusers"), null);
+        assertEquals("alice-v3", users.get(1L).get());
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage("user-service:cache-invalidation".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
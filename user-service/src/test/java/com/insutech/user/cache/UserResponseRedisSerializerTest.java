@@ -0,0 +1,64 @@
+package com.insutech.user.cache;
+
+import com.insutech.user.dto.UserResponse;
+import com.insutech.user.enums.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserResponseRedisSerializerTest {
+
+    private final UserResponseRedisSerializer serializer = new UserResponseRedisSerializer();
+    private final GenericJackson2JsonRedisSerializer json = UserResponseRedisSerializer.jsonSerializer();
+
+    @Test
+    void shouldRoundTripSingleUserAndList() {
+        UserResponse user = user(7L, "jdoe", Role.UNDERWRITER);
+        UserResponse sparse = new UserResponse(null, null, null, null, false, null);
+
+        UserResponse read = (UserResponse) serializer.deserialize(serializer.serialize(user));
+        @SuppressWarnings("unchecked")
+        List<UserResponse> list = (List<UserResponse>) serializer.deserialize(serializer.serialize(List.of(user, sparse)));
+
+        assertSameUser(user, read);
+        assertEquals(2, list.size());
+        assertSameUser(user, list.get(0));
+        assertSameUser(sparse, list.get(1));
+    }
+
+    @Test
+    void shouldBeSmallerThanJson() {
+        UserResponse user = user(7L, "jdoe", Role.ACCOUNT_MANAGER);
+        List<UserResponse> users = List.of(user, user(8L, "asmith", Role.CLIENT), user(9L, "bwong", Role.ADMIN));
+
+        assertTrue(serializer.serialize(user).length * 2 < json.serialize(user).length);
+        assertTrue(serializer.serialize(users).length * 2 < json.serialize(users).length);
+    }
+
+    @Test
+    void shouldReadEntriesWrittenAsJson() {
+        UserResponse user = user(7L, "jdoe", Role.ADMIN);
+
+        UserResponse read = (UserResponse) serializer.deserialize(json.serialize(user));
+
+        assertSameUser(user, read);
+    }
+
+    private static UserResponse user(Long id, String username, Role role) {
+        return new UserResponse(id, username, username + "@insutech.com", role, true,
+                LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_456_000));
+    }
+
+    private static void assertSameUser(UserResponse expected, UserResponse actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getUsername(), actual.getUsername());
+        assertEquals(expected.getEmail(), actual.getEmail());
+        assertEquals(expected.getRole(), actual.getRole());
+        assertEquals(expected.isActive(), actual.isActive());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+    }
+}
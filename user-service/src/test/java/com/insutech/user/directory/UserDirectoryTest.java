@@ -0,0 +1,73 @@
+package com.insutech.user.directory;
+
+import com.insutech.user.dto.UserResponse;
+import com.insutech.user.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDirectoryTest {
+
+    private UserDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        directory = new UserDirectory();
+        directory.load(List.of(
+                user(3L, "carol", Role.CLIENT),
+                user(1L, "alice", Role.UNDERWRITER),
+                user(2L, "bob", Role.CLIENT),
+                user(4L, "dave", Role.CLIENT)));
+    }
+
+    @Test
+    void shouldPageAfterLastIdRead() {
+        assertEquals(List.of(1L, 2L), ids(directory.findAll(0, 2)));
+        assertEquals(List.of(3L, 4L), ids(directory.findAll(2, 2)));
+        assertTrue(directory.findAll(4, 2).isEmpty());
+        assertEquals(List.of(2L, 3L), ids(directory.findByRole(Role.CLIENT, 0, 2)));
+        assertEquals(List.of(4L), ids(directory.findByRole(Role.CLIENT, 3, 2)));
+
+        assertEquals(3, directory.countByRole(Role.CLIENT));
+        // A user removed between pages does not shift the next page
+        directory.remove(2L);
+        assertEquals(List.of(3L, 4L), ids(directory.findAll(2, 2)));
+    }
+
+    @Test
+    void shouldReindexUserOnUpdate() {
+        UserResponse renamed = user(2L, "robert", Role.ADMIN);
+
+        directory.upsert(renamed);
+
+        assertTrue(directory.findByUsername("bob").isEmpty());
+        assertSame(renamed, directory.findByUsername("robert").orElseThrow());
+        assertSame(renamed, directory.findByEmail("robert@insutech.com").orElseThrow());
+        assertEquals(List.of(3L, 4L), ids(directory.findByRole(Role.CLIENT, 0, 10)));
+        assertEquals(List.of(2L), ids(directory.findByRole(Role.ADMIN, 0, 10)));
+        assertEquals(4, directory.count());
+    }
+
+    @Test
+    void shouldRemoveFromEveryIndex() {
+        directory.remove(1L);
+        directory.remove(99L);
+
+        assertTrue(directory.findById(1L).isEmpty());
+        assertTrue(directory.findByUsername("alice").isEmpty());
+        assertTrue(directory.findByEmail("alice@insutech.com").isEmpty());
+        assertEquals(0, directory.countByRole(Role.UNDERWRITER));
+        assertEquals(3, directory.count());
+    }
+
+    private static UserResponse user(Long id, String username, Role role) {
+        return new UserResponse(id, username, username + "@insutech.com", role, true, null);
+    }
+
+    private static List<Long> ids(List<UserResponse> users) {
+        return users.stream().map(UserResponse::getId).toList();
+    }
+}
@@ -0,0 +1,70 @@
+package com.insutech.user.lookup;
+
+import com.insutech.user.dto.UserResponse;
+import com.insutech.user.entity.User;
+import com.insutech.user.enums.Role;
+import com.insutech.user.mapper.UserMapper;
+import com.insutech.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UserBatchLoaderTest {
+
+    private UserRepository userRepository;
+    private UserBatchLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        UserMapper userMapper = mock(UserMapper.class);
+        when(userMapper.toResponseList(any())).thenAnswer(inv -> ((List<User>) inv.getArgument(0)).stream()
+                .map(user -> new UserResponse(user.getId(), user.getUsername(), null, user.getRole(), true, null))
+                .toList());
+        loader = new UserBatchLoader(userRepository, userMapper, Duration.ofMillis(50), 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loader.destroy();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCoalesceConcurrentLookupsIntoOneQuery() {
+        when(userRepository.findAllById(any())).thenReturn(List.of(user(1L), user(2L)));
+
+        CompletableFuture<Map<Long, UserResponse>> first = loader.load(List.of(1L, 2L));
+        CompletableFuture<Map<Long, UserResponse>> second = loader.load(List.of(2L, 3L));
+
+        assertEquals(Set.of(1L, 2L), first.join().keySet());
+        assertEquals(Set.of(2L), second.join().keySet());
+        ArgumentCaptor<Iterable<Long>> ids = ArgumentCaptor.forClass(Iterable.class);
+        verify(userRepository, times(1)).findAllById(ids.capture());
+        assertEquals(Set.of(1L, 2L, 3L), Set.copyOf((java.util.Collection<Long>) ids.getValue()));
+    }
+
+    @Test
+    void shouldFailEveryWaiterWhenTheQueryFails() {
+        when(userRepository.findAllById(any())).thenThrow(new IllegalStateException("db down"));
+
+        CompletableFuture<Map<Long, UserResponse>> lookup = loader.load(List.of(1L));
+
+        assertThrows(java.util.concurrent.CompletionException.class, lookup::join);
+    }
+
+    private static User user(Long id) {
+        return User.builder().id(id).username("user" + id).email("user" + id + "@insutech.com").role(Role.CLIENT).build();
+    }
+}
@@ -0,0 +1,135 @@
+package com.insutech.user.service;
+
+import com.insutech.user.directory.UserDirectory;
+import com.insutech.user.dto.UserRequest;
+import com.insutech.user.dto.UserResponse;
+import com.insutech.user.enums.Role;
+import com.insutech.user.exception.UserAlreadyExistsException;
+import com.insutech.user.lookup.UserBatchLoader;
+import com.insutech.user.mapper.UserMapperImpl;
+import com.insutech.user.repository.UserRepository;
+import com.insutech.user.service.impl.UserServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the write path against H2 with real unique constraints, outside a test
+ * transaction so concurrent requests see each other's commits.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({UserServiceImpl.class, UserMapperImpl.class, UserDirectory.class, UserBatchLoader.class})
+@Slf4j
+class UserServiceWriteContentionTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldNameTheConflictingFieldOnCreate() {
+        userService.createUser(request("alice", "alice@insutech.com"));
+
+        UserAlreadyExistsException username = assertThrows(UserAlreadyExistsException.class,
+                () -> userService.createUser(request("alice", "other@insutech.com")));
+        UserAlreadyExistsException email = assertThrows(UserAlreadyExistsException.class,
+                () -> userService.createUser(request("bob", "alice@insutech.com")));
+
+        assertEquals("Username already exists: alice", username.getMessage());
+        assertEquals("Email already exists: alice@insutech.com", email.getMessage());
+    }
+
+    @Test
+    void shouldNameTheConflictingFieldOnUpdateAndAllowKeepingOwnValues() {
+        userService.createUser(request("alice", "alice@insutech.com"));
+        UserResponse bob = userService.createUser(request("bob", "bob@insutech.com"));
+
+        UserAlreadyExistsException email = assertThrows(UserAlreadyExistsException.class,
+                () -> userService.updateUser(bob.getId(), request("bob", "alice@insutech.com")));
+        UserResponse renamed = userService.updateUser(bob.getId(), request("robert", "bob@insutech.com"));
+
+        assertEquals("Email already exists: alice@insutech.com", email.getMessage());
+        assertEquals("robert", renamed.getUsername());
+        assertEquals("robert", userRepository.findById(bob.getId()).orElseThrow().getUsername());
+    }
+
+    /**
+     * Every worker tries to create the same set of usernames at the same moment. Exactly
+     * one create per name may win; the rest must surface as conflicts, not server errors.
+     * Throughput under this contention is logged for comparison between runs, not asserted.
+     */
+    @Test
+    void shouldLetExactlyOneConcurrentCreatePerNameSucceed() throws Exception {
+        int workers = 8;
+        int names = 50;
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int worker = 0; worker < workers; worker++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < names; i++) {
+                        try {
+                            userService.createUser(request("user" + i, "user" + i + "@insutech.com"));
+                            created.incrementAndGet();
+                        } catch (UserAlreadyExistsException e) {
+                            conflicts.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - startedAt) / 1e9;
+            log.info("{} contended creates in {} ms ({} writes/s): {} created, {} conflicts",
+                    workers * names, Math.round(seconds * 1000), Math.round(workers * names / seconds),
+                    created.get(), conflicts.get());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(names, created.get());
+        assertEquals((workers - 1) * names, conflicts.get());
+        assertEquals(names, userRepository.count());
+    }
+
+    private static UserRequest request(String username, String email) {
+        UserRequest request = new UserRequest();
+        request.setUsername(username);
+        request.setEmail(email);
+        request.setRole(Role.CLIENT);
+        return request;
+    }
+}